@@ -0,0 +1,38 @@
+/**
+ * One benchmark case, measured by {@link BenchmarkRunner}.
+ * <p>
+ * {@link #setUp()} runs once before the warm-up, {@link #run()} is called repeatedly and timed, and its
+ * result is handed to a blackhole so that the JIT cannot remove the work. If one call of {@link #run()}
+ * covers several logical operations (e.g. a replay of many controller events), {@link #operationsPerRun()}
+ * says how many, and scores are reported per operation. Allocations are counted on the thread calling
+ * {@link #run()}, unless {@link #allocationThreadId()} names the thread that does the work.
+ * </p>
+ */
+public abstract class Benchmark {
+
+    protected void setUp() throws Exception {
+    }
+
+    /**
+     * Performs the measured work once.
+     *
+     * @return A value derived from the work, consumed by the runner.
+     */
+    protected abstract Object run() throws Exception;
+
+    protected void tearDown() throws Exception {
+    }
+
+    protected int operationsPerRun() {
+        return 1;
+    }
+
+    /**
+     * Called after {@link #setUp()}.
+     *
+     * @return The id of the thread whose allocations are reported, or -1 for the thread calling {@link #run()}.
+     */
+    protected long allocationThreadId() {
+        return -1L;
+    }
+}
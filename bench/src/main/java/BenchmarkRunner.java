@@ -0,0 +1,225 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the game's benchmarks, each in a fresh JVM, and prints one line per benchmark.
+ * <p>
+ * Usage from the project directory (IntelliJ: run configuration of the geoquiz-bench module, working
+ * directory = project directory):
+ * </p>
+ * <pre>
+ * mvn -B package
+ * java -jar bench/target/geoquiz-bench.jar [regex] [-wi 5] [-i 10] [-t 1] [-f 2]
+ * </pre>
+ * <p>
+ * {@code regex} selects benchmarks by name, {@code -wi}/{@code -i} are warm-up and measured iterations,
+ * {@code -t} the seconds per iteration and {@code -f} the number of forked JVMs per benchmark ({@code 0}
+ * runs in this JVM, which is only good for debugging). Each iteration calls the benchmark until the time is
+ * up; the score is the mean time per operation over all measured iterations of all forks, with its
+ * standard deviation, and the allocation per operation on the benchmark thread (or the thread named by
+ * {@link Benchmark#allocationThreadId()}).
+ * </p>
+ * The methodology follows JMH, which cannot be used here because it rejects benchmark classes in the
+ * default package and the game's classes can only be reached from there.
+ */
+public class BenchmarkRunner {
+    private static final String RESULT_PREFIX = "RESULT\t";
+
+    /** Properties every forked JVM gets: no display, no controller hardware, quiet logging. */
+    private static final String[] FORK_PROPERTIES = {
+            "-Djava.awt.headless=true",
+            "-Dgeoquiz.input=none",
+            "-Dgeoquiz.log.level=WARN",
+    };
+
+    private static volatile Object blackhole;
+
+    /**
+     * @return All benchmarks by name, in the order they are run.
+     */
+    static Map<String, Callable<Benchmark>> benchmarks() {
+        Map<String, Callable<Benchmark>> benchmarks = new LinkedHashMap<>();
+        for (String set : new String[]{"geoquiz_set1", "geoquiz_set2"}) {
+            benchmarks.put("load.json." + set, () -> new QuizSetLoadBenchmark("data/quizsets/" + set + ".json", false));
+        }
+        for (int questions : new int[]{1_000, 50_000}) {
+            benchmarks.put("load.json.synthetic" + questions, () -> new QuizSetLoadBenchmark(questions, false));
+            benchmarks.put("load.stream.synthetic" + questions, () -> new QuizSetLoadBenchmark(questions, true));
+            benchmarks.put("binary.roundtrip.synthetic" + questions, () -> new QuizSetRoundTripBenchmark(questions));
+        }
+        benchmarks.put("game.round20.bank100000", () -> new QuizGameRoundBenchmark(100_000, 20));
+        benchmarks.put("image.decode.big-ben", () -> new ImageBenchmark("data/images/big-ben.jpg", false, 0, 0));
+        benchmarks.put("image.decode.big-ben.question", () -> new ImageBenchmark("data/images/big-ben.jpg", false,
+                ScaledImageCache.QUESTION_IMAGE_WIDTH, ScaledImageCache.QUESTION_IMAGE_HEIGHT));
+        benchmarks.put("image.decode.germany-flag.answer", () -> new ImageBenchmark("data/images/germany-flag.jpg", false,
+                ScaledImageCache.ANSWER_IMAGE_WIDTH, ScaledImageCache.ANSWER_IMAGE_HEIGHT));
+        benchmarks.put("image.scale.question", () -> new ImageBenchmark("data/images/big-ben.jpg", true,
+                ScaledImageCache.QUESTION_IMAGE_WIDTH, ScaledImageCache.QUESTION_IMAGE_HEIGHT));
+        benchmarks.put("image.scale.answer", () -> new ImageBenchmark("data/images/germany-flag.jpg", true,
+                ScaledImageCache.ANSWER_IMAGE_WIDTH, ScaledImageCache.ANSWER_IMAGE_HEIGHT));
+        benchmarks.put("controller.mapping", () -> new ControllerMappingBenchmark(0L));
+        benchmarks.put("controller.tick.1ms", () -> new ControllerMappingBenchmark(1L));
+        for (String set : new String[]{"geoquiz_set1", "geoquiz_set2"}) {
+            benchmarks.put("ui.transition." + set, () -> new QuizPanelTransitionBenchmark("data/quizsets/" + set + ".json"));
+        }
+        benchmarks.put("ui.navigation.stick", StickNavigationBenchmark::new);
+        benchmarks.put("soak.games.questions10", () -> new SoakBenchmark(10));
+        return benchmarks;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String filter = ".*";
+        int warmups = 5;
+        int iterations = 10;
+        double seconds = 1.0;
+        int forks = 2;
+        String child = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-wi": warmups = Integer.parseInt(args[++i]); break;
+                case "-i": iterations = Integer.parseInt(args[++i]); break;
+                case "-t": seconds = Double.parseDouble(args[++i]); break;
+                case "-f": forks = Integer.parseInt(args[++i]); break;
+                case "--child": child = args[++i]; break;
+                default: filter = args[i];
+            }
+        }
+        // Also when running in this JVM (-f 0), unless set on the command line
+        for (String property : FORK_PROPERTIES) {
+            String[] keyValue = property.substring(2).split("=", 2);
+            if (System.getProperty(keyValue[0]) == null) {
+                System.setProperty(keyValue[0], keyValue[1]);
+            }
+        }
+        long iterationNanos = (long) (seconds * 1e9);
+        Map<String, Callable<Benchmark>> benchmarks = benchmarks();
+
+        if (child != null) {
+            // Forked JVM: measure one benchmark and report every iteration to the parent
+            for (double[] result : measure(benchmarks.get(child).call(), warmups, iterations, iterationNanos)) {
+                System.out.println(RESULT_PREFIX + result[0] + "\t" + result[1]);
+            }
+            System.exit(0);
+        }
+
+        Pattern pattern = Pattern.compile(filter);
+        System.out.println(String.format(Locale.ROOT, "%-36s %6s %14s %12s %16s", "Benchmark", "Cnt", "Score", "Error", "Alloc"));
+        for (Map.Entry<String, Callable<Benchmark>> entry : benchmarks.entrySet()) {
+            if (!pattern.matcher(entry.getKey()).find()) {
+                continue;
+            }
+            List<double[]> results = forks == 0
+                    ? measure(entry.getValue().call(), warmups, iterations, iterationNanos)
+                    : fork(entry.getKey(), forks, warmups, iterations, seconds);
+            print(entry.getKey(), results);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * @return Per measured iteration: nanoseconds per operation and allocated bytes per operation.
+     */
+    static List<double[]> measure(Benchmark benchmark, int warmups, int iterations, long iterationNanos) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean allocation = threads instanceof com.sun.management.ThreadMXBean;
+        List<double[]> results = new ArrayList<>();
+        benchmark.setUp();
+        try {
+            long thread = benchmark.allocationThreadId() != -1L ? benchmark.allocationThreadId() : Thread.currentThread().getId();
+            for (int iteration = 0; iteration < warmups + iterations; iteration++) {
+                long bytesBefore = allocation ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(thread) : 0L;
+                long start = System.nanoTime();
+                long end = start + iterationNanos;
+                long runs = 0;
+                long now;
+                do {
+                    blackhole = benchmark.run();
+                    runs++;
+                    now = System.nanoTime();
+                } while (now - end < 0);
+                long bytes = allocation ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(thread) - bytesBefore : -1L;
+                if (iteration >= warmups) {
+                    double operations = (double) runs * benchmark.operationsPerRun();
+                    results.add(new double[]{(now - start) / operations, bytes < 0 ? Double.NaN : bytes / operations});
+                }
+            }
+        } finally {
+            benchmark.tearDown();
+        }
+        return results;
+    }
+
+    private static List<double[]> fork(String name, int forks, int warmups, int iterations, double seconds)
+            throws IOException, InterruptedException {
+        List<double[]> results = new ArrayList<>();
+        for (int fork = 0; fork < forks; fork++) {
+            List<String> command = new ArrayList<>();
+            command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+            for (String property : FORK_PROPERTIES) {
+                command.add(property);
+            }
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(BenchmarkRunner.class.getName());
+            command.add("--child");
+            command.add(name);
+            command.add("-wi");
+            command.add(String.valueOf(warmups));
+            command.add("-i");
+            command.add(String.valueOf(iterations));
+            command.add("-t");
+            command.add(String.valueOf(seconds));
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(RESULT_PREFIX)) {
+                        String[] fields = line.split("\t");
+                        results.add(new double[]{Double.parseDouble(fields[1]), Double.parseDouble(fields[2])});
+                    } else {
+                        System.out.println("  " + line);
+                    }
+                }
+            }
+            if (process.waitFor() != 0) {
+                System.out.println("  " + name + ": fork exited with " + process.exitValue());
+            }
+        }
+        return results;
+    }
+
+    private static void print(String name, List<double[]> results) {
+        if (results.isEmpty()) {
+            System.out.println(String.format(Locale.ROOT, "%-36s %6d %14s", name, 0, "-"));
+            return;
+        }
+        double sum = 0;
+        double bytes = 0;
+        for (double[] result : results) {
+            sum += result[0];
+            bytes += result[1];
+        }
+        double mean = sum / results.size();
+        double squares = 0;
+        for (double[] result : results) {
+            squares += (result[0] - mean) * (result[0] - mean);
+        }
+        double deviation = results.size() > 1 ? Math.sqrt(squares / (results.size() - 1)) : 0.0;
+        String unit = mean >= 1e6 ? "ms/op" : mean >= 1e3 ? "us/op" : "ns/op";
+        double scale = mean >= 1e6 ? 1e6 : mean >= 1e3 ? 1e3 : 1.0;
+        System.out.println(String.format(Locale.ROOT, "%-36s %6d %8.3f %-5s %s %9.3f %11.0f B/op", name, results.size(),
+                mean / scale, unit, "+-", deviation / scale, bytes / results.size()));
+    }
+}
@@ -0,0 +1,141 @@
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@link AutomatenController} path from raw controller events to key events: polling, the mapping table,
+ * axis coalescing and dispatch. A {@link ReplayController} feeds a fixed mix of joystick and button events and
+ * the listeners run on the input thread; the allocation column is that of the input thread.
+ * <p>
+ * Without a tick the events are played as fast as possible and the input thread polls without pause, so the
+ * score is the cost per raw event rather than the polling rate. With a tick the events come in groups of
+ * {@value #EVENTS_PER_TICK}, one group per tick, and the input thread polls at that interval as on the cabinet;
+ * an operation is then one tick, and the allocation column is the garbage of a poll round with events.
+ * </p>
+ * <p>
+ * The replays are built in {@link #setUp()} and only rewound per run. Two of them take turns, because a replay
+ * may only be rewound once a later scan has removed it, and registering the other one triggers that scan.
+ * </p>
+ */
+class ControllerMappingBenchmark extends Benchmark {
+    private static final int RAW_EVENTS = 1024;
+    private static final int EVENTS_PER_TICK = 8;
+
+    private final AtomicLong keyEvents = new AtomicLong();
+    private final long tickMillis;
+    private final ReplayController[] replays = new ReplayController[2];
+    private AutomatenController controller;
+    private long keyEventsPerRun;
+    private int runs;
+
+    /**
+     * @param tickMillis Poll interval and time between two groups of events, or 0 to play as fast as possible.
+     */
+    ControllerMappingBenchmark(long tickMillis) {
+        this.tickMillis = tickMillis;
+    }
+
+    @Override
+    protected void setUp() {
+        // Read when the controller is created, so only effective if nothing used it before
+        System.setProperty("geoquiz.input", "none");
+        System.setProperty("geoquiz.controller.pollIntervalMs", String.valueOf(tickMillis));
+        replays[0] = createReplay(tickMillis);
+        replays[1] = createReplay(tickMillis);
+        controller = AutomatenController.getInstance();
+        controller.setDispatchMode(AutomatenController.DispatchMode.INPUT_THREAD);
+        controller.addListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                keyEvents.incrementAndGet();
+            }
+
+            @Override
+            public void keyReleased(KeyEvent e) {
+                keyEvents.incrementAndGet();
+            }
+        });
+        long before = keyEvents.get();
+        replayAndWait(-1L);
+        keyEventsPerRun = keyEvents.get() - before;
+    }
+
+    @Override
+    protected Object run() {
+        return replayAndWait(keyEventsPerRun);
+    }
+
+    @Override
+    protected int operationsPerRun() {
+        return tickMillis == 0L ? RAW_EVENTS : RAW_EVENTS / EVENTS_PER_TICK;
+    }
+
+    @Override
+    protected long allocationThreadId() {
+        return controller.getInputThreadId();
+    }
+
+    /**
+     * Replays one sequence and waits until the listener has seen all of its key events.
+     *
+     * @param expected Key events to wait for, or -1 to wait until the replay is finished.
+     */
+    private long replayAndWait(long expected) {
+        long target = keyEvents.get() + expected;
+        ReplayController replay = replays[runs++ & 1];
+        replay.rewind();
+        controller.replay(replay);
+        while (expected < 0 ? !replay.isFinished() : keyEvents.get() < target) {
+            Thread.yield();
+        }
+        if (expected < 0) {
+            // The last poll of a finished replay may still be dispatching
+            long last;
+            do {
+                last = keyEvents.get();
+                Thread.yield();
+                sleepQuietly();
+            } while (keyEvents.get() != last);
+        }
+        return keyEvents.get();
+    }
+
+    /**
+     * Joystick sweeps left, centre, right, centre with two other axes and a button in between; ends centred and
+     * released, so every replay produces the same key events.
+     */
+    private static ReplayController createReplay(long tickMillis) {
+        ReplayController.Builder builder = new ReplayController.Builder("bench");
+        if (tickMillis == 0L) {
+            builder.asFastAsPossible();
+        }
+        float[] sweep = {-1f, 0f, 1f, 0f};
+        for (int i = 0; i < RAW_EVENTS / 4; i++) {
+            long offset = i * 4 / EVENTS_PER_TICK * tickMillis;
+            switch (i % 4) {
+                case 0:
+                    builder.add(offset, "X-Achse", sweep[0]).add(offset, "X-Achse", sweep[1]).add(offset, "X-Achse", sweep[2]).add(offset, "X-Achse", sweep[3]);
+                    break;
+                case 1:
+                    builder.add(offset, "Y-Achse", sweep[2]).add(offset, "Y-Achse", sweep[3]).add(offset, "Y-Achse", sweep[0]).add(offset, "Y-Achse", sweep[1]);
+                    break;
+                case 2:
+                    builder.add(offset, "Taste 0", 1f).add(offset, "Taste 0", 0f).add(offset, "Taste 3", 1f).add(offset, "Taste 3", 0f);
+                    break;
+                default:
+                    // ignored by the default mapping
+                    builder.add(offset, "Z-Achse", 1f).add(offset, "Z-Achse", 0f).add(offset, "X-Achse", 0f).add(offset, "Taste 5", 0f);
+                    break;
+            }
+        }
+        return builder.build();
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+import java.awt.Image;
+
+/**
+ * Decoding a quiz image with {@link ImageLoader}, or scaling a decoded one into the boxes {@link QuizPanel}
+ * shows it in, as the {@link ScaledImageCache} does on a miss.
+ * <p>
+ * A box of 0x0 decodes at full resolution with the AWT toolkit (the fallback path), any other box reads
+ * the image subsampled for it with ImageIO. Scaling starts from the subsampled image, like the cache.
+ * </p>
+ */
+class ImageBenchmark extends Benchmark {
+    private final String path;
+    private final boolean scale;
+    private final int maxWidth;
+    private final int maxHeight;
+    private Image decoded;
+
+    ImageBenchmark(String path, boolean scale, int maxWidth, int maxHeight) {
+        this.path = path;
+        this.scale = scale;
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    @Override
+    protected void setUp() {
+        decoded = decode();
+        if (decoded == null) {
+            throw new IllegalStateException("Image not found (run from the project directory): " + path);
+        }
+    }
+
+    @Override
+    protected Object run() {
+        if (scale) {
+            return ScaledImageCache.scaleToFit(decoded, maxWidth, maxHeight);
+        }
+        Image image = decode();
+        image.flush();
+        return image;
+    }
+
+    private Image decode() {
+        return maxWidth == 0 ? ImageLoader.decode(path) : ImageLoader.decode(path, null, maxWidth, maxHeight);
+    }
+}
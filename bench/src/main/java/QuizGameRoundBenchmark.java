@@ -0,0 +1,34 @@
+/**
+ * Starting a round of random questions from a large {@link QuestionBank} and playing it through: drawing the
+ * questions, creating each one from the bank and computing its answer order into a reused array.
+ */
+class QuizGameRoundBenchmark extends Benchmark {
+    private final int bankSize;
+    private final int roundSize;
+    private QuizSet quizSet;
+    private int[] answerOrder;
+    private long seed;
+
+    QuizGameRoundBenchmark(int bankSize, int roundSize) {
+        this.bankSize = bankSize;
+        this.roundSize = roundSize;
+    }
+
+    @Override
+    protected void setUp() {
+        quizSet = new QuizSet("Synthetic " + bankSize, QuestionBank.of(SyntheticQuizSets.create(bankSize).getQuestions()));
+    }
+
+    @Override
+    protected Object run() {
+        QuizGame game = new QuizGame(quizSet, roundSize, seed++);
+        int checksum = 0;
+        Question question;
+        while ((question = game.getCurrentQuestion()) != null) {
+            answerOrder = game.answerOrder(game.getCurrentQuestionIndex(), question.getAnswerOptions().size(), answerOrder);
+            checksum += answerOrder[0];
+            game.nextQuestion();
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,73 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * One question transition in a headless {@link QuizPanel} on the EDT: {@link QuizGame#nextQuestion()},
+ * {@link QuizPanel#displayCurrentQuestion()}, layout and painting the whole panel into an image. Images come
+ * from the {@link ScaledImageCache} after the warm-up, as they do in a running game. At the end of the set a
+ * new game is started, which is part of the measured cost once per set. The work runs on the EDT, so the
+ * allocation the runner reports (benchmark thread only) does not include it.
+ */
+class QuizPanelTransitionBenchmark extends Benchmark {
+    private final String path;
+    private QuizSet quizSet;
+    private JPanel root;
+    private QuizPanel panel;
+    private QuizGame game;
+    private BufferedImage canvas;
+    private Runnable transition;
+
+    QuizPanelTransitionBenchmark(String path) {
+        this.path = path;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        quizSet = QuizSetLoader.loadQuizSet(path);
+        if (quizSet == null) {
+            throw new IllegalStateException("Quiz set not found (run from the project directory): " + path);
+        }
+        canvas = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+        SwingUtilities.invokeAndWait(() -> {
+            root = new JPanel(new BorderLayout());
+            game = new QuizGame(quizSet);
+            panel = new QuizPanel(game, () -> { });
+            root.add(panel);
+            root.setSize(canvas.getWidth(), canvas.getHeight());
+            layout(root);
+        });
+        transition = () -> {
+            if (game.getCurrentQuestionIndex() >= quizSet.getQuestions().size() - 1) {
+                game = new QuizGame(quizSet);
+                panel.startGame(game);
+            } else {
+                game.nextQuestion();
+                panel.displayCurrentQuestion();
+            }
+            layout(root);
+            Graphics2D g = canvas.createGraphics();
+            root.paint(g);
+            g.dispose();
+        };
+    }
+
+    @Override
+    protected Object run() throws Exception {
+        SwingUtilities.invokeAndWait(transition);
+        return game.getCurrentQuestionIndex();
+    }
+
+    /**
+     * Lays out the whole tree; without a window, {@link Container#validate()} does nothing.
+     */
+    private static void layout(Component component) {
+        if (component instanceof Container) {
+            Container container = (Container) component;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layout(child);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+import java.io.File;
+
+/**
+ * Loading a JSON quiz set with {@link QuizSetLoader}, either completely or streamed question by question.
+ */
+class QuizSetLoadBenchmark extends Benchmark {
+    private final int syntheticQuestions;
+    private final boolean streamed;
+    private String path;
+
+    /**
+     * @param path A quiz set in {@code data/quizsets}.
+     */
+    QuizSetLoadBenchmark(String path, boolean streamed) {
+        this.path = path;
+        this.syntheticQuestions = 0;
+        this.streamed = streamed;
+    }
+
+    /**
+     * @param syntheticQuestions Size of a generated set, see {@link SyntheticQuizSets}.
+     */
+    QuizSetLoadBenchmark(int syntheticQuestions, boolean streamed) {
+        this.syntheticQuestions = syntheticQuestions;
+        this.streamed = streamed;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        if (syntheticQuestions > 0) {
+            path = SyntheticQuizSets.writeJson(syntheticQuestions).getPath();
+        }
+        if (!new File(path).isFile()) {
+            throw new IllegalStateException("Quiz set not found (run from the project directory): " + path);
+        }
+    }
+
+    @Override
+    protected Object run() throws Exception {
+        if (!streamed) {
+            return QuizSetLoader.loadQuizSet(path).getQuestions().size();
+        }
+        int answers = 0;
+        try (QuizSetStream stream = QuizSetLoader.streamQuizSet(path)) {
+            while (stream.hasNext()) {
+                answers += stream.next().getAnswerOptions().size();
+            }
+        }
+        return answers;
+    }
+}
@@ -0,0 +1,39 @@
+import java.io.File;
+import java.util.List;
+
+/**
+ * Saving a set with {@link QuizSetManager} and loading it back, reading every question and answer so that the
+ * lazily decoded binary set does all its work.
+ */
+class QuizSetRoundTripBenchmark extends Benchmark {
+    private final int questionCount;
+    private QuizSet quizSet;
+    private File file;
+
+    QuizSetRoundTripBenchmark(int questionCount) {
+        this.questionCount = questionCount;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        quizSet = SyntheticQuizSets.create(questionCount);
+        file = File.createTempFile("roundtrip-", BinaryQuizSetFormat.EXTENSION);
+        file.deleteOnExit();
+    }
+
+    @Override
+    protected Object run() {
+        QuizSetManager.saveQuizSet(file.getPath(), quizSet);
+        QuizSet loaded = QuizSetManager.loadQuizSet(file.getPath());
+        int length = 0;
+        List<Question> questions = loaded.getQuestions();
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            length += question.getQuestionText().length();
+            for (AnswerOption answer : question.getAnswerOptions()) {
+                length += answer.getText().length();
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,85 @@
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.util.Locale;
+
+/**
+ * Plays whole games headlessly, one per operation, the way the cabinet does all day: {@link MainMenuPanel#startQuiz()}
+ * on the selected set, then the first answer to every question, skipping the feedback delay with
+ * {@link QuizPanel#finishFeedback()}. Everything runs on the EDT, whose allocation is reported.
+ * <p>
+ * Every {@value #CHECKPOINT} games the live heap after a full GC and the number of cards in the menu's container
+ * are printed; both have to stay flat however many games are played. The GC at each checkpoint is part of the
+ * score.
+ * </p>
+ */
+class SoakBenchmark extends Benchmark {
+    private static final int CHECKPOINT = 1000;
+
+    private final int questionCount;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private JPanel container;
+    private MainMenuPanel menu;
+    private Runnable game;
+    private long games;
+    private long edt;
+
+    /**
+     * @param questionCount Questions of the text-only set that is played.
+     */
+    SoakBenchmark(int questionCount) {
+        this.questionCount = questionCount;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        File directory = Files.createTempDirectory("soak").toFile();
+        // Registered before the set, so it is deleted after it
+        directory.deleteOnExit();
+        SyntheticQuizSets.writeJson(questionCount, directory);
+        final QuizSetRegistry registry = new QuizSetRegistry(directory.getPath());
+        registry.rescan();
+        SwingUtilities.invokeAndWait(() -> {
+            CardLayout cardLayout = new CardLayout();
+            container = new JPanel(cardLayout);
+            menu = new MainMenuPanel(cardLayout, container, registry);
+            container.add(menu, "MainMenu");
+            menu.selectQuizSet(registry.getEntries().get(0));
+            edt = Thread.currentThread().getId();
+        });
+        game = () -> {
+            menu.startQuiz();
+            QuizPanel panel = menu.getQuizPanel();
+            // On the finish screen answers are ignored and no feedback runs
+            do {
+                panel.selectAnswer(0);
+            } while (panel.finishFeedback());
+        };
+        checkpoint();
+    }
+
+    @Override
+    protected Object run() throws Exception {
+        SwingUtilities.invokeAndWait(game);
+        if (++games % CHECKPOINT == 0) {
+            checkpoint();
+        }
+        return games;
+    }
+
+    @Override
+    protected long allocationThreadId() {
+        return edt;
+    }
+
+    private void checkpoint() throws Exception {
+        System.gc();
+        final int[] cards = new int[1];
+        SwingUtilities.invokeAndWait(() -> cards[0] = container.getComponentCount());
+        System.out.println(String.format(Locale.ROOT, "soak: %6d games, live heap %6.1f MB, %d cards",
+                games, memory.getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0), cards[0]));
+    }
+}
@@ -0,0 +1,128 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Joystick navigation in a running game, from a replayed stick event to the moved selection: the
+ * {@link AutomatenController} dispatches on the EDT, the game's forwarder ({@link Main#createControllerForwarder})
+ * hands the arrow key to the {@link QuizPanel}, and its key bindings move the selection. One operation is a stick
+ * movement right and back left.
+ * <p>
+ * This is also the check that moving the stick never answers a question: {@link #setUp()} fails unless right moves
+ * the selection to the second answer and left back to the first, and the fire button (ENTER in the default
+ * {@link ControllerMapping}) then answers; every run fails if an answer was given.
+ * </p>
+ * <p>
+ * Without a window the panel's {@code WHEN_IN_FOCUSED_WINDOW} bindings are not registered with Swing's keyboard
+ * manager, so a listener after the forwarder looks up the binding for each key and runs it, as that manager does
+ * on the cabinet. Listeners of the panel itself still run first, as they do there.
+ * </p>
+ */
+class StickNavigationBenchmark extends Benchmark {
+    private final AtomicLong presses = new AtomicLong();
+    private final ReplayController[] replays = new ReplayController[2];
+    private QuizPanel panel;
+    private int runs;
+
+    @Override
+    protected void setUp() throws Exception {
+        System.setProperty("geoquiz.input", "none");
+        File directory = Files.createTempDirectory("navigation").toFile();
+        // Registered before the set, so it is deleted after it
+        directory.deleteOnExit();
+        SyntheticQuizSets.writeJson(10, directory);
+        final QuizSetRegistry registry = new QuizSetRegistry(directory.getPath());
+        registry.rescan();
+        SwingUtilities.invokeAndWait(() -> {
+            CardLayout cardLayout = new CardLayout();
+            JPanel container = new JPanel(cardLayout);
+            MainMenuPanel menu = new MainMenuPanel(cardLayout, container, registry);
+            container.add(menu, "MainMenu");
+            menu.selectQuizSet(registry.getEntries().get(0));
+            menu.startQuiz();
+            panel = menu.getQuizPanel();
+        });
+
+        AutomatenController controller = AutomatenController.getInstance();
+        controller.setDispatchMode(AutomatenController.DispatchMode.EDT);
+        controller.addListener(Main.createControllerForwarder(panel));
+        controller.addListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                Object name = panel.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).get(KeyStroke.getKeyStrokeForEvent(e));
+                Action action = name != null ? panel.getActionMap().get(name) : null;
+                if (action != null) {
+                    action.actionPerformed(new ActionEvent(panel, ActionEvent.ACTION_PERFORMED, null));
+                }
+                presses.incrementAndGet();
+            }
+        });
+
+        replayAndWait(stick("right", 1f), 1);
+        check(1, false, "stick right");
+        replayAndWait(stick("left", -1f), 1);
+        check(0, false, "stick left");
+        replayAndWait(new ReplayController.Builder("fire").asFastAsPossible().add(0, "Taste 0", 1f).add(0, "Taste 0", 0f).build(), 1);
+        check(0, true, "fire button");
+        replays[0] = stick("right and left", 1f, -1f);
+        replays[1] = stick("right and left", 1f, -1f);
+    }
+
+    @Override
+    protected Object run() throws Exception {
+        ReplayController replay = replays[runs++ & 1];
+        replay.rewind();
+        replayAndWait(replay, 2);
+        check(0, false, "stick right and left");
+        return presses.get();
+    }
+
+    /**
+     * Plays the replay and waits until the panel has handled the given number of key presses from it.
+     */
+    private void replayAndWait(ReplayController replay, int expectedPresses) {
+        long target = presses.get() + expectedPresses;
+        AutomatenController.getInstance().replay(replay);
+        while (presses.get() < target) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Checks the selection and whether the input answered the question; an answer's feedback is skipped.
+     *
+     * @throws IllegalStateException if either is not as expected.
+     */
+    private void check(int expectedSelection, boolean expectAnswer, String input) throws Exception {
+        final int[] selection = new int[1];
+        final boolean[] answered = new boolean[1];
+        SwingUtilities.invokeAndWait(() -> {
+            selection[0] = panel.getSelectedIndex();
+            // Only an answer starts the feedback
+            answered[0] = panel.finishFeedback();
+        });
+        if (answered[0] != expectAnswer) {
+            throw new IllegalStateException(expectAnswer ? input + " did not answer the question"
+                    : input + " answered the question instead of moving the selection");
+        }
+        if (!expectAnswer && selection[0] != expectedSelection) {
+            throw new IllegalStateException(input + " selected answer " + selection[0] + ", expected " + expectedSelection);
+        }
+    }
+
+    /**
+     * The stick pushed to each position in turn and back to the centre.
+     */
+    private static ReplayController stick(String name, float... positions) {
+        ReplayController.Builder builder = new ReplayController.Builder(name).asFastAsPossible();
+        for (float position : positions) {
+            builder.add(0, "X-Achse", position).add(0, "X-Achse", 0f);
+        }
+        return builder.build();
+    }
+}
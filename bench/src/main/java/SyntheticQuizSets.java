@@ -0,0 +1,76 @@
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates text-only quiz sets of any size, shaped like the real ones (four answers, one correct).
+ */
+final class SyntheticQuizSets {
+    private SyntheticQuizSets() {
+    }
+
+    static QuizSet create(int questionCount) {
+        List<Question> questions = new ArrayList<>(questionCount);
+        for (int q = 0; q < questionCount; q++) {
+            List<AnswerOption> answers = new ArrayList<>(4);
+            for (int a = 0; a < 4; a++) {
+                answers.add(new AnswerOption(answerText(q, a), a == q % 4));
+            }
+            questions.add(new Question(questionText(q), answers));
+        }
+        return new QuizSet("Synthetic " + questionCount, questions);
+    }
+
+    /**
+     * Writes a set in the JSON layout of {@code data/quizsets} to a temporary file that is deleted at exit.
+     */
+    static File writeJson(int questionCount) throws IOException {
+        return writeJson(questionCount, null);
+    }
+
+    /**
+     * Like {@link #writeJson(int)}, but in the given directory, or the default temporary directory if null.
+     */
+    static File writeJson(int questionCount, File directory) throws IOException {
+        File file = File.createTempFile("synthetic" + questionCount + "-", ".json", directory);
+        file.deleteOnExit();
+        try (JsonWriter writer = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("setName").value("Synthetic " + questionCount);
+            writer.name("questions").beginArray();
+            for (int q = 0; q < questionCount; q++) {
+                writer.beginObject();
+                writer.name("questionText").value(questionText(q));
+                writer.name("answerOptions").beginArray();
+                for (int a = 0; a < 4; a++) {
+                    writer.beginObject();
+                    writer.name("text").value(answerText(q, a));
+                    writer.name("isCorrect").value(a == q % 4);
+                    writer.endObject();
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        return file;
+    }
+
+    private static String questionText(int q) {
+        return "Which city is shown in picture number " + q + "?";
+    }
+
+    private static String answerText(int q, int a) {
+        return "City " + (q * 4 + a);
+    }
+}
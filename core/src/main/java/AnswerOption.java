@@ -1,4 +1,3 @@
-import javax.swing.ImageIcon;
 import java.io.Serializable;
 
 /**
@@ -9,7 +8,7 @@ public class AnswerOption implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private String text;
-    private ImageIcon image;
+    private ImageHandle image;
     private boolean isCorrect;
 
     // Constructors
@@ -18,12 +17,12 @@ public class AnswerOption implements Serializable {
         this.isCorrect = isCorrect;
     }
 
-    public AnswerOption(ImageIcon image, boolean isCorrect) {
+    public AnswerOption(ImageHandle image, boolean isCorrect) {
         this.image = image;
         this.isCorrect = isCorrect;
     }
 
-    public AnswerOption(String text, ImageIcon image, boolean isCorrect) {
+    public AnswerOption(String text, ImageHandle image, boolean isCorrect) {
         this.text = text;
         this.image = image;
         this.isCorrect = isCorrect;
@@ -31,6 +30,6 @@ public class AnswerOption implements Serializable {
 
     // Getters
     public String getText() { return text; }
-    public ImageIcon getImage() { return image; }
+    public ImageHandle getImage() { return image; }
     public boolean isCorrect() { return isCorrect; }
 }
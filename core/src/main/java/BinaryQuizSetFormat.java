@@ -0,0 +1,41 @@
+/**
+ * Layout of the binary quiz-set container written by {@link BinaryQuizSetWriter}
+ * and read by {@link BinaryQuizSetReader}.
+ * <p>
+ * All numbers are big-endian, all offsets are absolute file positions. Strings and
+ * images are stored once and referenced by their index ({@link #NONE} for "absent"),
+ * so repeated answers such as city names cost four bytes per use.
+ * </p>
+ * <pre>
+ * header        magic, version, set name id, counts and section offsets (HEADER_SIZE bytes)
+ * string index  stringCount   x (int offset, int length)          -&gt; UTF-8 string data
+ * question tab  questionCount x (int textId, int imageId, int firstAnswer,
+ *                                short answerCount, short correctMask)
+ * answer tab    answerCount   x (int textId, int imageId)
+ * image index   imageCount    x (int pathId, int offset, int length, int reserved)
+ *                                                                 -&gt; encoded image data
+ * </pre>
+ * Bit {@code i} of {@code correctMask} is set if answer {@code firstAnswer + i} is correct.
+ * Embedded images are pre-scaled to the box the quiz screen shows them in; an image whose
+ * source could not be read is stored with length 0.
+ */
+public final class BinaryQuizSetFormat {
+    /** "GQZS" */
+    public static final int MAGIC = 0x47515A53;
+    public static final short VERSION = 1;
+
+    public static final int NONE = -1;
+    public static final int MAX_ANSWERS = 16;
+
+    public static final int HEADER_SIZE = 44;
+    public static final int STRING_ENTRY_SIZE = 8;
+    public static final int QUESTION_RECORD_SIZE = 16;
+    public static final int ANSWER_RECORD_SIZE = 8;
+    public static final int IMAGE_ENTRY_SIZE = 16;
+
+    /** File extension used for converted quiz sets. */
+    public static final String EXTENSION = ".gqz";
+
+    private BinaryQuizSetFormat() {
+    }
+}
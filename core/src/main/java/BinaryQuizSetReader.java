@@ -0,0 +1,248 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Opens quiz sets in the {@link BinaryQuizSetFormat} via a memory mapping.
+ * <p>
+ * Opening validates the header and every table entry against the size of the file, so a
+ * truncated or corrupt set fails there with an {@link IOException} instead of later on
+ * access. Questions, strings and images are decoded from the mapped file only when they
+ * are first accessed.
+ * </p>
+ */
+public class BinaryQuizSetReader {
+    private final ByteBuffer buffer;
+    private final int stringCount;
+    private final int questionCount;
+    private final int imageCount;
+    private final int stringIndexOffset;
+    private final int questionTableOffset;
+    private final int answerTableOffset;
+    private final int imageIndexOffset;
+    // One handle per embedded image, created on first access, so questions sharing an image share its handle
+    private final AtomicReferenceArray<ImageHandle> images;
+
+    /**
+     * Maps the given file and returns a quiz set backed by it.
+     *
+     * @param filename The file path of a binary quiz set.
+     * @return The quiz set; its question list is read-only and decoded on access.
+     * @throws IOException if the file cannot be read or is not a supported binary quiz set.
+     */
+    public static QuizSet open(String filename) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return new BinaryQuizSetReader(mapped).toQuizSet();
+    }
+
+    /**
+     * Reads only the name of a binary quiz set. Unlike {@link #open(String)} this uses plain reads, so the
+     * file is not held by a mapping (which on Windows keeps it from being replaced) until that is collected.
+     *
+     * @param filename The file path of a binary quiz set.
+     * @return The set name, or null if the set has none.
+     * @throws IOException if the file cannot be read or is not a supported binary quiz set.
+     */
+    public static String readSetName(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, 0, (int) Math.min(channel.size(), BinaryQuizSetFormat.HEADER_SIZE));
+            checkHeader(header);
+            int setNameId = header.getInt(8);
+            if (setNameId == BinaryQuizSetFormat.NONE) {
+                return null;
+            }
+            if (setNameId < 0 || setNameId >= header.getInt(12)) {
+                throw new IOException("Invalid string id " + setNameId);
+            }
+            ByteBuffer entry = read(channel, header.getInt(28) + (long) setNameId * BinaryQuizSetFormat.STRING_ENTRY_SIZE,
+                    BinaryQuizSetFormat.STRING_ENTRY_SIZE);
+            int length = entry.getInt(4);
+            if (length < 0) {
+                throw new IOException("Truncated binary quiz set");
+            }
+            return new String(read(channel, entry.getInt(0), length).array(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated binary quiz set");
+            }
+        }
+        return buffer;
+    }
+
+    private static void checkHeader(ByteBuffer header) throws IOException {
+        if (header.capacity() < BinaryQuizSetFormat.HEADER_SIZE
+                || header.getInt(0) != BinaryQuizSetFormat.MAGIC) {
+            throw new IOException("Not a binary quiz set");
+        }
+        short version = header.getShort(4);
+        if (version != BinaryQuizSetFormat.VERSION) {
+            throw new IOException("Unsupported binary quiz set version " + version);
+        }
+    }
+
+    BinaryQuizSetReader(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        checkHeader(buffer);
+        stringCount = buffer.getInt(12);
+        questionCount = buffer.getInt(16);
+        imageCount = buffer.getInt(24);
+        stringIndexOffset = buffer.getInt(28);
+        questionTableOffset = buffer.getInt(32);
+        answerTableOffset = buffer.getInt(36);
+        imageIndexOffset = buffer.getInt(40);
+        validate(buffer.getInt(20));
+        images = new AtomicReferenceArray<>(imageCount);
+    }
+
+    /**
+     * Checks that every table, every string and image it points to, and every id and answer range lies within
+     * the file, so that decoding on access cannot fail.
+     */
+    private void validate(int answerCount) throws IOException {
+        checkTable(stringIndexOffset, stringCount, BinaryQuizSetFormat.STRING_ENTRY_SIZE);
+        checkTable(questionTableOffset, questionCount, BinaryQuizSetFormat.QUESTION_RECORD_SIZE);
+        checkTable(answerTableOffset, answerCount, BinaryQuizSetFormat.ANSWER_RECORD_SIZE);
+        checkTable(imageIndexOffset, imageCount, BinaryQuizSetFormat.IMAGE_ENTRY_SIZE);
+        checkId(buffer.getInt(8), stringCount, "string");
+        for (int id = 0; id < stringCount; id++) {
+            int entry = stringIndexOffset + id * BinaryQuizSetFormat.STRING_ENTRY_SIZE;
+            checkRange(buffer.getInt(entry), buffer.getInt(entry + 4));
+        }
+        for (int id = 0; id < imageCount; id++) {
+            int entry = imageIndexOffset + id * BinaryQuizSetFormat.IMAGE_ENTRY_SIZE;
+            checkId(buffer.getInt(entry), stringCount, "string");
+            checkRange(buffer.getInt(entry + 4), buffer.getInt(entry + 8));
+        }
+        for (int index = 0; index < questionCount; index++) {
+            int record = questionTableOffset + index * BinaryQuizSetFormat.QUESTION_RECORD_SIZE;
+            checkId(buffer.getInt(record), stringCount, "string");
+            checkId(buffer.getInt(record + 4), imageCount, "image");
+            int firstAnswer = buffer.getInt(record + 8);
+            int count = buffer.getShort(record + 12) & 0xFFFF;
+            if (firstAnswer < 0 || firstAnswer + (long) count > answerCount) {
+                throw new IOException("Invalid answers of question " + index);
+            }
+        }
+        for (int index = 0; index < answerCount; index++) {
+            int record = answerTableOffset + index * BinaryQuizSetFormat.ANSWER_RECORD_SIZE;
+            checkId(buffer.getInt(record), stringCount, "string");
+            checkId(buffer.getInt(record + 4), imageCount, "image");
+        }
+    }
+
+    private void checkTable(int offset, int count, int entrySize) throws IOException {
+        if (count < 0) {
+            throw new IOException("Invalid binary quiz set");
+        }
+        checkRange(offset, (long) count * entrySize);
+    }
+
+    private void checkRange(int offset, long length) throws IOException {
+        if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+            throw new IOException("Truncated binary quiz set");
+        }
+    }
+
+    private static void checkId(int id, int count, String kind) throws IOException {
+        if (id != BinaryQuizSetFormat.NONE && (id < 0 || id >= count)) {
+            throw new IOException("Invalid " + kind + " id " + id);
+        }
+    }
+
+    private QuizSet toQuizSet() {
+        return new QuizSet(string(buffer.getInt(8)), new QuestionList());
+    }
+
+    private String string(int id) {
+        if (id == BinaryQuizSetFormat.NONE) {
+            return null;
+        }
+        if (id < 0 || id >= stringCount) {
+            throw new IllegalStateException("Invalid string id " + id);
+        }
+        int entry = stringIndexOffset + id * BinaryQuizSetFormat.STRING_ENTRY_SIZE;
+        int offset = buffer.getInt(entry);
+        int length = buffer.getInt(entry + 4);
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ImageHandle image(int id) {
+        if (id == BinaryQuizSetFormat.NONE) {
+            return null;
+        }
+        if (id < 0 || id >= imageCount) {
+            throw new IllegalStateException("Invalid image id " + id);
+        }
+        ImageHandle handle = images.get(id);
+        if (handle == null) {
+            int entry = imageIndexOffset + id * BinaryQuizSetFormat.IMAGE_ENTRY_SIZE;
+            String path = string(buffer.getInt(entry));
+            int offset = buffer.getInt(entry + 4);
+            int length = buffer.getInt(entry + 8);
+            ByteBuffer data = buffer.duplicate();
+            data.position(offset);
+            data.limit(offset + length);
+            handle = new ImageHandle(path, data.slice());
+            if (!images.compareAndSet(id, null, handle)) {
+                handle = images.get(id);
+            }
+        }
+        return handle;
+    }
+
+    private Question question(int index) {
+        int record = questionTableOffset + index * BinaryQuizSetFormat.QUESTION_RECORD_SIZE;
+        int textId = buffer.getInt(record);
+        int imageId = buffer.getInt(record + 4);
+        int firstAnswer = buffer.getInt(record + 8);
+        int count = buffer.getShort(record + 12) & 0xFFFF;
+        int correctMask = buffer.getShort(record + 14) & 0xFFFF;
+
+        List<AnswerOption> answers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int answer = answerTableOffset + (firstAnswer + i) * BinaryQuizSetFormat.ANSWER_RECORD_SIZE;
+            answers.add(new AnswerOption(string(buffer.getInt(answer)), image(buffer.getInt(answer + 4)),
+                    (correctMask & (1 << i)) != 0));
+        }
+        return new Question(string(textId), image(imageId), answers);
+    }
+
+    /**
+     * Read-only view of the question table; each access decodes the record anew.
+     */
+    private class QuestionList extends AbstractList<Question> implements RandomAccess {
+        @Override
+        public Question get(int index) {
+            if (index < 0 || index >= questionCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + questionCount);
+            }
+            return question(index);
+        }
+
+        @Override
+        public int size() {
+            return questionCount;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes a {@link QuizSet} in the {@link BinaryQuizSetFormat}.
+ * <p>
+ * Images are decoded, scaled to the box the quiz screen displays them in and
+ * re-encoded as small JPEGs, so reading a set never touches the original files.
+ * </p>
+ */
+public class BinaryQuizSetWriter {
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final Map<String, Integer> images = new LinkedHashMap<>();
+    // Images shown as question image are embedded at the larger question box
+    private final Map<String, Boolean> usedAsQuestionImage = new LinkedHashMap<>();
+    private final Map<String, ImageHandle> imageSources = new LinkedHashMap<>();
+
+    /**
+     * Writes the quiz set to the given file.
+     *
+     * @param filename The file path to write to.
+     * @param quizSet  The quiz set to write.
+     * @throws IOException if the file cannot be written or a set has too many answers per question.
+     */
+    public static void write(String filename, QuizSet quizSet) throws IOException {
+        new BinaryQuizSetWriter().writeSet(filename, quizSet);
+    }
+
+    private void writeSet(String filename, QuizSet quizSet) throws IOException {
+        List<Question> questions = quizSet.getQuestions();
+        int setNameId = stringId(quizSet.getSetName());
+
+        ByteArrayOutputStream questionTable = new ByteArrayOutputStream();
+        ByteArrayOutputStream answerTable = new ByteArrayOutputStream();
+        DataOutputStream questionOut = new DataOutputStream(questionTable);
+        DataOutputStream answerOut = new DataOutputStream(answerTable);
+        int answerCount = 0;
+        for (Question question : questions) {
+            List<AnswerOption> answers = question.getAnswerOptions();
+            if (answers.size() > BinaryQuizSetFormat.MAX_ANSWERS) {
+                throw new IOException("Too many answer options (" + answers.size() + ") for: "
+                        + question.getQuestionText());
+            }
+            int correctMask = 0;
+            for (int i = 0; i < answers.size(); i++) {
+                AnswerOption answer = answers.get(i);
+                answerOut.writeInt(stringId(answer.getText()));
+                answerOut.writeInt(imageId(answer.getImage(), false));
+                if (answer.isCorrect()) {
+                    correctMask |= 1 << i;
+                }
+            }
+            questionOut.writeInt(stringId(question.getQuestionText()));
+            questionOut.writeInt(imageId(question.getQuestionImage(), true));
+            questionOut.writeInt(answerCount);
+            questionOut.writeShort(answers.size());
+            questionOut.writeShort(correctMask);
+            answerCount += answers.size();
+        }
+
+        List<byte[]> encodedStrings = new ArrayList<>(strings.size());
+        int stringDataSize = 0;
+        for (String s : strings.keySet()) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            encodedStrings.add(bytes);
+            stringDataSize += bytes.length;
+        }
+        // Decode all images in parallel on the loader pool, subsampled for their box, then encode them in order
+        List<CompletableFuture<BufferedImage>> decodedImages = new ArrayList<>(images.size());
+        for (String path : images.keySet()) {
+            decodedImages.add(usedAsQuestionImage.get(path)
+                    ? imageSources.get(path).load(ScaledImageCache.QUESTION_IMAGE_WIDTH, ScaledImageCache.QUESTION_IMAGE_HEIGHT)
+                    : imageSources.get(path).load(ScaledImageCache.ANSWER_IMAGE_WIDTH, ScaledImageCache.ANSWER_IMAGE_HEIGHT));
+        }
+        List<byte[]> encodedImages = new ArrayList<>(images.size());
+        for (String path : images.keySet()) {
+            BufferedImage decoded = decodedImages.get(encodedImages.size()).join();
+            encodedImages.add(usedAsQuestionImage.get(path)
+                    ? encodeThumbnail(decoded, ScaledImageCache.QUESTION_IMAGE_WIDTH, ScaledImageCache.QUESTION_IMAGE_HEIGHT)
+                    : encodeThumbnail(decoded, ScaledImageCache.ANSWER_IMAGE_WIDTH, ScaledImageCache.ANSWER_IMAGE_HEIGHT));
+        }
+
+        int stringIndexOffset = BinaryQuizSetFormat.HEADER_SIZE;
+        int stringDataOffset = stringIndexOffset + strings.size() * BinaryQuizSetFormat.STRING_ENTRY_SIZE;
+        int questionTableOffset = stringDataOffset + stringDataSize;
+        int answerTableOffset = questionTableOffset + questionTable.size();
+        int imageIndexOffset = answerTableOffset + answerTable.size();
+        int imageDataOffset = imageIndexOffset + images.size() * BinaryQuizSetFormat.IMAGE_ENTRY_SIZE;
+
+        // Written under a temporary name and moved over the target: a running game may have the old file mapped,
+        // which must neither see it change nor (on Windows) keep it from being replaced
+        File target = new File(filename).getAbsoluteFile();
+        Path temporary = target.toPath().resolveSibling(target.getName() + '.' + Thread.currentThread().getId() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(BinaryQuizSetFormat.MAGIC);
+            out.writeShort(BinaryQuizSetFormat.VERSION);
+            out.writeShort(0);
+            out.writeInt(setNameId);
+            out.writeInt(strings.size());
+            out.writeInt(questions.size());
+            out.writeInt(answerCount);
+            out.writeInt(images.size());
+            out.writeInt(stringIndexOffset);
+            out.writeInt(questionTableOffset);
+            out.writeInt(answerTableOffset);
+            out.writeInt(imageIndexOffset);
+
+            int offset = stringDataOffset;
+            for (byte[] bytes : encodedStrings) {
+                out.writeInt(offset);
+                out.writeInt(bytes.length);
+                offset += bytes.length;
+            }
+            for (byte[] bytes : encodedStrings) {
+                out.write(bytes);
+            }
+
+            questionTable.writeTo(out);
+            answerTable.writeTo(out);
+
+            offset = imageDataOffset;
+            for (Map.Entry<String, Integer> image : images.entrySet()) {
+                byte[] bytes = encodedImages.get(image.getValue());
+                out.writeInt(strings.get(image.getKey()));
+                out.writeInt(offset);
+                out.writeInt(bytes.length);
+                out.writeInt(0);
+                offset += bytes.length;
+            }
+            for (byte[] bytes : encodedImages) {
+                out.write(bytes);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        try {
+            Files.move(temporary, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    private int stringId(String s) {
+        if (s == null) {
+            return BinaryQuizSetFormat.NONE;
+        }
+        Integer id = strings.get(s);
+        if (id == null) {
+            id = strings.size();
+            strings.put(s, id);
+        }
+        return id;
+    }
+
+    private int imageId(ImageHandle handle, boolean questionImage) {
+        if (handle == null) {
+            return BinaryQuizSetFormat.NONE;
+        }
+        String path = handle.getPath();
+        stringId(path);
+        Integer id = images.get(path);
+        if (id == null) {
+            id = images.size();
+            images.put(path, id);
+            imageSources.put(path, handle);
+            usedAsQuestionImage.put(path, questionImage);
+        } else if (questionImage) {
+            usedAsQuestionImage.put(path, true);
+        }
+        return id;
+    }
+
+    /**
+     * Scales the image into the box and encodes it as JPEG.
+     *
+     * @return The encoded image, or no bytes if there is no image.
+     */
+    static byte[] encodeThumbnail(BufferedImage source, int maxWidth, int maxHeight) throws IOException {
+        if (source == null) {
+            return new byte[0];
+        }
+        BufferedImage scaled = ScaledImageCache.scaleToFit(source, maxWidth, maxHeight);
+        // JPEG has no alpha channel
+        BufferedImage rgb = new BufferedImage(scaled.getWidth(), scaled.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        g.drawImage(scaled, 0, 0, null);
+        g.dispose();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(rgb, "jpg", bytes);
+        return bytes.toByteArray();
+    }
+}
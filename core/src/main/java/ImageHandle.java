@@ -0,0 +1,142 @@
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A lazy reference to a quiz image.
+ * <p>
+ * Only the path is stored; the handle never holds pixels. Each {@link #load(int, int)} decodes the image
+ * on the {@link ImageLoader} pool, subsampled for the box it will be shown in, and the caller (normally
+ * the {@link ScaledImageCache}) decides how long to keep the result. Images embedded in a binary quiz set
+ * are decoded from their (memory-mapped) bytes instead of the file named by the path.
+ * </p>
+ * <p>
+ * Handles of image files are shared through the {@link ImageStore}.
+ * </p>
+ */
+public class ImageHandle implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String path;
+    private transient ByteBuffer embedded;
+    private transient volatile ContentKey contentKey;
+
+    public ImageHandle(String path) {
+        this.path = path;
+    }
+
+    /**
+     * @param path     The original path, used to identify the image.
+     * @param embedded The encoded image data.
+     */
+    public ImageHandle(String path, ByteBuffer embedded) {
+        this.path = path;
+        this.embedded = embedded;
+    }
+
+    /**
+     * Starts decoding the image in the background, subsampled for the given box.
+     *
+     * @param maxWidth  Width of the box the image will be fitted into.
+     * @param maxHeight Height of the box the image will be fitted into.
+     * @return A future yielding the decoded image, or null if it could not be loaded.
+     */
+    public CompletableFuture<BufferedImage> load(final int maxWidth, final int maxHeight) {
+        return CompletableFuture.supplyAsync(() -> decode(null, maxWidth, maxHeight), ImageLoader.executor());
+    }
+
+    /**
+     * Decodes the image, or a region of it, synchronously on the calling thread.
+     *
+     * @param region    The part of the image to decode, in source pixels, or null for all of it.
+     * @param maxWidth  Width of the box the image will be fitted into, or 0 for full resolution.
+     * @param maxHeight Height of the box the image will be fitted into, or 0 for full resolution.
+     * @return The image, at least as large as needed to fill the box, or null if it could not be loaded.
+     */
+    public BufferedImage decode(Rectangle region, int maxWidth, int maxHeight) {
+        return embedded != null
+                ? ImageLoader.decode(embedded.duplicate(), region, maxWidth, maxHeight)
+                : ImageLoader.decode(path, region, maxWidth, maxHeight);
+    }
+
+    /**
+     * Returns the SHA-256 of the encoded image, computing it on first use and again once the file has changed.
+     * The first call reads the whole file, so call it on a background thread.
+     *
+     * @return The hash as hex digits, or null if the file cannot be read.
+     */
+    public synchronized String getContentKey() {
+        if (embedded != null) {
+            if (contentKey == null) {
+                contentKey = new ContentKey(ImageStore.contentHash(embedded), 0L, 0L);
+            }
+            return contentKey.hash;
+        }
+        File file = new File(path);
+        long length = file.length();
+        long modified = file.lastModified();
+        ContentKey known = contentKey;
+        if (known == null || !known.matches(length, modified)) {
+            try {
+                contentKey = new ContentKey(ImageStore.contentHash(file), length, modified);
+            } catch (IOException e) {
+                contentKey = null;
+                return null;
+            }
+        }
+        return contentKey.hash;
+    }
+
+    /**
+     * Returns the content key computed last if the file still has the length and modification time it had then.
+     * Only the file's attributes are read, never its content, so this may be called on the Event Dispatch Thread;
+     * after a null result {@link #getContentKey()} recomputes the key.
+     *
+     * @return The content key, or null if it has not been computed yet or the file has changed since.
+     */
+    public String getKnownContentKey() {
+        ContentKey known = contentKey;
+        if (known == null) {
+            return null;
+        }
+        if (embedded == null) {
+            File file = new File(path);
+            if (!known.matches(file.length(), file.lastModified())) {
+                return null;
+            }
+        }
+        return known.hash;
+    }
+
+    private Object readResolve() {
+        // Embedded data is not serialized, so a deserialized handle always refers to the file
+        return ImageStore.getInstance().intern(path);
+    }
+
+    public String getPath() { return path; }
+    public ByteBuffer getEmbeddedData() { return embedded != null ? embedded.duplicate() : null; }
+
+    /**
+     * A content hash with the length and modification time of the file it was computed from, published together
+     * so that unsynchronized readers never pair a hash with the attributes of another version of the file.
+     */
+    private static final class ContentKey {
+        final String hash;
+        final long length;
+        final long modified;
+
+        ContentKey(String hash, long length, long modified) {
+            this.hash = hash;
+            this.length = length;
+            this.modified = modified;
+        }
+
+        boolean matches(long length, long modified) {
+            return length == this.length && modified == this.modified;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataFormatImpl;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.MediaTracker;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+import java.awt.image.CropImageFilter;
+import java.awt.image.FilteredImageSource;
+import java.awt.image.ImageProducer;
+import java.awt.image.ReplicateScaleFilter;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Decodes quiz images on a small, bounded pool of background threads.
+ * <p>
+ * Decoding a multi-megapixel JPEG takes several hundred milliseconds, so it must
+ * neither block JSON parsing nor the Event Dispatch Thread. The UI never shows an image
+ * larger than its target box, so images are read with ImageIO source subsampling: only
+ * every n-th pixel of every n-th row is kept, with n the largest power of two that still
+ * leaves the image at least as large as the box. The full-resolution pixels never exist
+ * on the heap; {@link ScaledImageCache#scaleToFit} does the remaining (less than 2x)
+ * reduction with bilinear filtering.
+ * </p>
+ * <p>
+ * ImageIO decodes progressive JPEGs (most photos in data/images) scan by scan and takes about
+ * three times as long for them as the AWT toolkit. Those are decoded by the toolkit instead,
+ * through a {@link ReplicateScaleFilter} that subsamples the same way while the rows arrive.
+ * </p>
+ */
+public final class ImageLoader {
+    private static final int POOL_SIZE =
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final ExecutorService POOL = createPool();
+
+    static {
+        // Quiz images are read from files or memory; ImageIO's temp file cache would only add disk I/O
+        ImageIO.setUseCache(false);
+    }
+
+    private ImageLoader() {
+    }
+
+    /**
+     * @return The background pool, for decoding and follow-up work such as scaling decoded images.
+     */
+    public static Executor executor() {
+        return POOL;
+    }
+
+    /**
+     * Decodes the image synchronously on the calling thread, subsampled for the given box.
+     *
+     * @param path      The file path of the image.
+     * @param region    The part of the image to decode, in source pixels, or null for all of it.
+     * @param maxWidth  Width of the box the image will be fitted into, or 0 for full resolution.
+     * @param maxHeight Height of the box the image will be fitted into, or 0 for full resolution.
+     * @return The decoded image, at least as large as needed to fill the box, or null if the file
+     *         is missing or unreadable, or if the region lies outside the image.
+     */
+    public static BufferedImage decode(String path, Rectangle region, int maxWidth, int maxHeight) {
+        if (path == null || !new File(path).isFile()) {
+            Log.warn("Bild nicht gefunden: {}", path);
+            return null;
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(new File(path))) {
+            BufferedImage image = read(input, () -> Toolkit.getDefaultToolkit().createImage(path),
+                    region, maxWidth, maxHeight);
+            if (image != null) {
+                return image;
+            }
+        } catch (IIOException e) {
+            Log.debug("ImageIO kann {} nicht lesen: {}", path, e.getMessage());
+        } catch (IOException e) {
+            Log.warn("Bild konnte nicht geladen werden: {}", path, e);
+            return null;
+        }
+        return fallback(decode(path), region, maxWidth, maxHeight);
+    }
+
+    /**
+     * Decodes an encoded image held in memory synchronously on the calling thread, subsampled for the given box.
+     *
+     * @param data      The encoded image (e.g. a slice of a memory-mapped quiz set).
+     * @param region    The part of the image to decode, in source pixels, or null for all of it.
+     * @param maxWidth  Width of the box the image will be fitted into, or 0 for full resolution.
+     * @param maxHeight Height of the box the image will be fitted into, or 0 for full resolution.
+     * @return The decoded image, at least as large as needed to fill the box, or null if the data
+     *         is empty or unreadable, or if the region lies outside the image.
+     */
+    public static BufferedImage decode(ByteBuffer data, Rectangle region, int maxWidth, int maxHeight) {
+        if (data == null || !data.hasRemaining()) {
+            return null;
+        }
+        final byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(bytes))) {
+            BufferedImage image = read(input, () -> Toolkit.getDefaultToolkit().createImage(bytes),
+                    region, maxWidth, maxHeight);
+            if (image != null) {
+                return image;
+            }
+        } catch (IIOException e) {
+            Log.debug("ImageIO kann eingebettetes Bild nicht lesen: {}", e.getMessage());
+        } catch (IOException e) {
+            Log.warn("Eingebettetes Bild konnte nicht geladen werden", e);
+            return null;
+        }
+        return fallback(decode(bytes), region, maxWidth, maxHeight);
+    }
+
+    /**
+     * Decodes the whole image at full resolution with the AWT toolkit, which also reads some
+     * JPEGs ImageIO rejects (e.g. CMYK). Only used as a fallback and for comparison.
+     *
+     * @param path The file path of the image.
+     * @return The fully loaded image, or null if the file is missing or unreadable.
+     */
+    public static Image decode(String path) {
+        if (path == null || !new File(path).isFile()) {
+            Log.warn("Bild nicht gefunden: {}", path);
+            return null;
+        }
+        // createImage instead of ImageIcon(path): the toolkit would keep every image it loaded by name
+        ImageIcon icon = new ImageIcon(Toolkit.getDefaultToolkit().createImage(path));
+        if (icon.getImageLoadStatus() != MediaTracker.COMPLETE) {
+            Log.warn("Bild konnte nicht geladen werden: {}", path);
+            return null;
+        }
+        return icon.getImage();
+    }
+
+    private static Image decode(byte[] bytes) {
+        ImageIcon icon = new ImageIcon(bytes);
+        if (icon.getImageLoadStatus() != MediaTracker.COMPLETE) {
+            Log.warn("Eingebettetes Bild konnte nicht geladen werden");
+            return null;
+        }
+        return icon.getImage();
+    }
+
+    /**
+     * @param toolkitImage Creates a toolkit image of the same input, for progressive JPEGs.
+     * @return The decoded image, or null if neither ImageIO nor the toolkit can read the input.
+     */
+    private static BufferedImage read(ImageInputStream input, Supplier<Image> toolkitImage, Rectangle region,
+                                      int maxWidth, int maxHeight) throws IOException {
+        if (input == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, false);
+            Rectangle source = clip(region, reader.getWidth(0), reader.getHeight(0));
+            if (source == null) {
+                // Not an IIOException: the image is readable, so the toolkit fallback would fail the same way
+                throw new IOException("Region " + region + " is outside the " + reader.getWidth(0) + "x"
+                        + reader.getHeight(0) + " image");
+            }
+            int step = subsampling(source.width, source.height, maxWidth, maxHeight);
+            if (isProgressiveJpeg(reader)) {
+                return readWithToolkit(toolkitImage.get(), region != null ? source : null, source, step);
+            }
+            ImageReadParam param = reader.getDefaultReadParam();
+            if (region != null) {
+                param.setSourceRegion(source);
+            }
+            if (step > 1) {
+                param.setSourceSubsampling(step, step, 0, 0);
+            }
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static boolean isProgressiveJpeg(ImageReader reader) throws IOException {
+        if (!"jpeg".equalsIgnoreCase(reader.getFormatName())) {
+            return false;
+        }
+        IIOMetadata metadata = reader.getImageMetadata(0);
+        if (metadata == null || !metadata.isStandardMetadataFormatSupported()) {
+            return false;
+        }
+        IIOMetadataNode tree = (IIOMetadataNode) metadata.getAsTree(IIOMetadataFormatImpl.standardMetadataFormatName);
+        return tree.getElementsByTagName("NumProgressiveScans").getLength() > 0;
+    }
+
+    /**
+     * Decodes with the toolkit, cropping and subsampling the rows as the decoder delivers them.
+     *
+     * @param crop   The region to crop to, or null for the whole image.
+     * @param source The size of the (cropped) image.
+     */
+    private static BufferedImage readWithToolkit(Image image, Rectangle crop, Rectangle source, int step) {
+        ImageProducer producer = image.getSource();
+        if (crop != null) {
+            producer = new FilteredImageSource(producer, new CropImageFilter(crop.x, crop.y, crop.width, crop.height));
+        }
+        int width = (source.width + step - 1) / step;
+        int height = (source.height + step - 1) / step;
+        if (step > 1) {
+            producer = new FilteredImageSource(producer, new ReplicateScaleFilter(width, height));
+        }
+        Image filtered = Toolkit.getDefaultToolkit().createImage(producer);
+        try {
+            if (new ImageIcon(filtered).getImageLoadStatus() != MediaTracker.COMPLETE) {
+                return null;
+            }
+            BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = result.createGraphics();
+            g.drawImage(filtered, 0, 0, null);
+            g.dispose();
+            return result;
+        } finally {
+            filtered.flush();
+            image.flush();
+        }
+    }
+
+    /**
+     * Brings a toolkit-decoded image to the size {@link #read} would have produced.
+     */
+    private static BufferedImage fallback(Image image, Rectangle region, int maxWidth, int maxHeight) {
+        if (image == null) {
+            return null;
+        }
+        Rectangle source = clip(region, image.getWidth(null), image.getHeight(null));
+        if (source == null) {
+            Log.warn("Bildausschnitt {} liegt außerhalb des Bildes", region);
+            image.flush();
+            return null;
+        }
+        int step = subsampling(source.width, source.height, maxWidth, maxHeight);
+        int width = (source.width + step - 1) / step;
+        int height = (source.height + step - 1) / step;
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(image, 0, 0, width, height,
+                source.x, source.y, source.x + source.width, source.y + source.height, null);
+        g.dispose();
+        image.flush();
+        return result;
+    }
+
+    /**
+     * @return The part of the region inside the image, the whole image for a null region, or null if the
+     *         region lies completely outside.
+     */
+    private static Rectangle clip(Rectangle region, int width, int height) {
+        Rectangle bounds = new Rectangle(0, 0, width, height);
+        if (region == null) {
+            return bounds;
+        }
+        Rectangle clipped = bounds.intersection(region);
+        return clipped.isEmpty() ? null : clipped;
+    }
+
+    /**
+     * Returns the largest power of two by which a width x height image can be subsampled while staying at
+     * least as large as {@link ScaledImageCache#scaleToFit} will scale it for the box.
+     */
+    static int subsampling(int width, int height, int maxWidth, int maxHeight) {
+        if (maxWidth <= 0 || maxHeight <= 0) {
+            return 1;
+        }
+        double scalingFactor = Math.min((double) maxWidth / width, (double) maxHeight / height);
+        int targetWidth = Math.max(1, (int) (width * scalingFactor));
+        int targetHeight = Math.max(1, (int) (height * scalingFactor));
+        int step = 1;
+        while (width / (step * 2) >= targetWidth && height / (step * 2) >= targetHeight) {
+            step *= 2;
+        }
+        return step;
+    }
+
+    private static ExecutorService createPool() {
+        final AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "image-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        };
+        return new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), factory);
+    }
+}
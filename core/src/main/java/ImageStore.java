@@ -0,0 +1,153 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process-wide store that hands out one shared {@link ImageHandle} per image file.
+ * <p>
+ * Handles are interned by canonical path, so the same file referenced by several questions, by several
+ * sets or by a set loaded again yields the same handle, however the path is spelled. The store only holds
+ * them weakly: a handle no set refers to any more is collected. Decoded pixels are not kept here but in
+ * the {@link ScaledImageCache}, keyed by the content hash of the image, so that also copies of a file under
+ * another name are decoded only once.
+ * </p>
+ */
+public final class ImageStore {
+    private static final ImageStore INSTANCE = new ImageStore();
+
+    // Keyed by the path as given and by the canonical path; both references point to the same handle
+    private final Map<String, HandleReference> handles = new HashMap<>();
+    private final ReferenceQueue<ImageHandle> collected = new ReferenceQueue<>();
+
+    /**
+     * @return the store shared by all quiz sets.
+     */
+    public static ImageStore getInstance() {
+        return INSTANCE;
+    }
+
+    private ImageStore() {
+    }
+
+    /**
+     * Returns the handle of the image file, creating it on first use.
+     *
+     * @param path The file path of the image.
+     * @return The shared handle; its path is the spelling it was first interned with.
+     */
+    public synchronized ImageHandle intern(String path) {
+        purge();
+        ImageHandle handle = get(path);
+        if (handle != null) {
+            return handle;
+        }
+        String canonicalPath = canonicalPath(path);
+        handle = get(canonicalPath);
+        if (handle == null) {
+            handle = new ImageHandle(path);
+            put(canonicalPath, canonicalPath, handle);
+        }
+        put(path, canonicalPath, handle);
+        return handle;
+    }
+
+    /**
+     * @return the number of distinct images with a live handle.
+     */
+    public synchronized int size() {
+        purge();
+        int size = 0;
+        for (Map.Entry<String, HandleReference> entry : handles.entrySet()) {
+            if (entry.getKey().equals(entry.getValue().canonicalPath)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private ImageHandle get(String key) {
+        HandleReference reference = handles.get(key);
+        return reference != null ? reference.get() : null;
+    }
+
+    private void put(String key, String canonicalPath, ImageHandle handle) {
+        handles.put(key, new HandleReference(key, canonicalPath, handle, collected));
+    }
+
+    private void purge() {
+        HandleReference reference;
+        while ((reference = (HandleReference) collected.poll()) != null) {
+            if (handles.get(reference.key) == reference) {
+                handles.remove(reference.key);
+            }
+        }
+    }
+
+    private static String canonicalPath(String path) {
+        File file = new File(path);
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            return file.getAbsolutePath();
+        }
+    }
+
+    /**
+     * @return the SHA-256 of the file's content as hex digits.
+     */
+    static String contentHash(File file) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * @return the SHA-256 of the remaining bytes as hex digits; the buffer's position is not changed.
+     */
+    static String contentHash(ByteBuffer data) {
+        MessageDigest digest = sha256();
+        digest.update(data.duplicate());
+        return hex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static final class HandleReference extends WeakReference<ImageHandle> {
+        private final String key;
+        private final String canonicalPath;
+
+        HandleReference(String key, String canonicalPath, ImageHandle handle, ReferenceQueue<ImageHandle> queue) {
+            super(handle, queue);
+            this.key = key;
+            this.canonicalPath = canonicalPath;
+        }
+    }
+}
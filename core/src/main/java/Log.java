@@ -0,0 +1,264 @@
+import java.io.PrintStream;
+import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A small asynchronous logger for the game's diagnostic messages.
+ * <p>
+ * Calling threads (the EDT, the controller input thread, loader threads) only copy the message template and
+ * its arguments into a slot of a fixed ring buffer; a daemon thread formats and prints them. Nothing is
+ * formatted or concatenated on the calling thread, and the level checks compare against constants fixed at
+ * startup ({@code -Dgeoquiz.log.level=DEBUG|INFO|WARN|OFF}, default INFO), so disabled calls cost next to nothing.
+ * When the ring is full, messages are dropped rather than blocking the caller, and the number of dropped
+ * messages is reported with the next one that is printed. Pending messages are printed at exit.
+ * </p>
+ * Templates use {@code {}} as placeholders, e.g. {@code Log.debug("Antwort ausgewählt: Index {}, Text: {}", index, text)}.
+ * A {@link Throwable} passed as the argument after the last placeholder is printed with its stack trace.
+ */
+public final class Log {
+    public enum Level { DEBUG, INFO, WARN, OFF }
+
+    private static final Level LEVEL = parseLevel(System.getProperty("geoquiz.log.level", "INFO"));
+    private static final boolean DEBUG_ENABLED = LEVEL.compareTo(Level.DEBUG) <= 0;
+    private static final boolean INFO_ENABLED = LEVEL.compareTo(Level.INFO) <= 0;
+    private static final boolean WARN_ENABLED = LEVEL.compareTo(Level.WARN) <= 0;
+
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+    /** Marks which argument, if any, is the primitive one. */
+    private static final int NO_NUMBER = -1;
+
+    private static final Entry[] ring = new Entry[CAPACITY];
+    private static final AtomicLong tail = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final PrintStream out = System.out;
+    private static final Object drainLock = new Object();
+    // Only used while holding drainLock
+    private static long head;
+    private static final StringBuilder line = new StringBuilder(128);
+    private static final Calendar calendar = Calendar.getInstance();
+    private static volatile boolean writerParked;
+    private static final Thread writer;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            ring[i] = new Entry(i);
+        }
+        writer = new Thread(Log::writeLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::drain, "log-flush"));
+    }
+
+    private Log() {
+    }
+
+    public static boolean isDebugEnabled() { return DEBUG_ENABLED; }
+    public static boolean isInfoEnabled() { return INFO_ENABLED; }
+
+    public static void debug(String message) { if (DEBUG_ENABLED) offer(Level.DEBUG, message, null, null, null, 0L, NO_NUMBER); }
+    public static void debug(String template, Object arg) { if (DEBUG_ENABLED) offer(Level.DEBUG, template, arg, null, null, 0L, NO_NUMBER); }
+    public static void debug(String template, long arg) { if (DEBUG_ENABLED) offer(Level.DEBUG, template, null, null, null, arg, 0); }
+    public static void debug(String template, Object arg1, Object arg2) { if (DEBUG_ENABLED) offer(Level.DEBUG, template, arg1, arg2, null, 0L, NO_NUMBER); }
+    public static void debug(String template, long arg1, Object arg2) { if (DEBUG_ENABLED) offer(Level.DEBUG, template, null, arg2, null, arg1, 0); }
+    public static void debug(String template, long arg1, Object arg2, Object arg3) { if (DEBUG_ENABLED) offer(Level.DEBUG, template, null, arg2, arg3, arg1, 0); }
+
+    public static void info(String message) { if (INFO_ENABLED) offer(Level.INFO, message, null, null, null, 0L, NO_NUMBER); }
+    public static void info(String template, Object arg) { if (INFO_ENABLED) offer(Level.INFO, template, arg, null, null, 0L, NO_NUMBER); }
+    public static void info(String template, long arg) { if (INFO_ENABLED) offer(Level.INFO, template, null, null, null, arg, 0); }
+    public static void info(String template, Object arg1, Object arg2) { if (INFO_ENABLED) offer(Level.INFO, template, arg1, arg2, null, 0L, NO_NUMBER); }
+    public static void info(String template, long arg1, Object arg2) { if (INFO_ENABLED) offer(Level.INFO, template, null, arg2, null, arg1, 0); }
+    public static void info(String template, long arg1, Object arg2, Object arg3) { if (INFO_ENABLED) offer(Level.INFO, template, null, arg2, arg3, arg1, 0); }
+
+    public static void warn(String message) { if (WARN_ENABLED) offer(Level.WARN, message, null, null, null, 0L, NO_NUMBER); }
+    public static void warn(String template, Object arg) { if (WARN_ENABLED) offer(Level.WARN, template, arg, null, null, 0L, NO_NUMBER); }
+    public static void warn(String template, long arg) { if (WARN_ENABLED) offer(Level.WARN, template, null, null, null, arg, 0); }
+    public static void warn(String template, Object arg1, Object arg2) { if (WARN_ENABLED) offer(Level.WARN, template, arg1, arg2, null, 0L, NO_NUMBER); }
+    public static void warn(String template, long arg1, Object arg2) { if (WARN_ENABLED) offer(Level.WARN, template, null, arg2, null, arg1, 0); }
+    public static void warn(String template, long arg1, Object arg2, Object arg3) { if (WARN_ENABLED) offer(Level.WARN, template, null, arg2, arg3, arg1, 0); }
+
+    /**
+     * Prints all pending messages on the calling thread.
+     */
+    public static void flush() {
+        drain();
+    }
+
+    private static void offer(Level level, String template, Object arg1, Object arg2, Object arg3, long number,
+                              int numberIndex) {
+        // Bounded multi-producer queue: each slot's sequence says whether it is free for position pos
+        while (true) {
+            long pos = tail.get();
+            Entry entry = ring[(int) pos & MASK];
+            long difference = entry.sequence - pos;
+            if (difference == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    entry.level = level;
+                    entry.millis = System.currentTimeMillis();
+                    entry.thread = Thread.currentThread().getName();
+                    entry.template = template;
+                    entry.arg1 = arg1;
+                    entry.arg2 = arg2;
+                    entry.arg3 = arg3;
+                    entry.number = number;
+                    entry.numberIndex = numberIndex;
+                    entry.sequence = pos + 1;
+                    if (writerParked) {
+                        LockSupport.unpark(writer);
+                    }
+                    return;
+                }
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private static void writeLoop() {
+        while (true) {
+            if (!drain()) {
+                writerParked = true;
+                if (!hasPending()) {
+                    LockSupport.parkNanos(1_000_000_000L);
+                }
+                writerParked = false;
+            }
+        }
+    }
+
+    private static boolean hasPending() {
+        synchronized (drainLock) {
+            return ring[(int) head & MASK].sequence == head + 1;
+        }
+    }
+
+    /**
+     * @return true if at least one message was printed.
+     */
+    private static boolean drain() {
+        synchronized (drainLock) {
+            boolean printed = false;
+            while (true) {
+                Entry entry = ring[(int) head & MASK];
+                if (entry.sequence != head + 1) {
+                    break;
+                }
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    out.println(lost + " Log-Meldungen verworfen (Puffer voll)");
+                }
+                line.setLength(0);
+                Throwable thrown = format(entry);
+                out.println(line);
+                if (thrown != null) {
+                    thrown.printStackTrace(out);
+                }
+                entry.clear();
+                entry.sequence = head + CAPACITY;
+                head++;
+                printed = true;
+            }
+            if (printed) {
+                out.flush();
+            }
+            return printed;
+        }
+    }
+
+    /**
+     * Formats one entry as {@code "HH:mm:ss.SSS LEVEL [thread] message"}.
+     *
+     * @return A throwable argument that was not used by a placeholder, or null.
+     */
+    private static Throwable format(Entry entry) {
+        calendar.setTimeInMillis(entry.millis);
+        appendPadded(calendar.get(Calendar.HOUR_OF_DAY), 2).append(':');
+        appendPadded(calendar.get(Calendar.MINUTE), 2).append(':');
+        appendPadded(calendar.get(Calendar.SECOND), 2).append('.');
+        appendPadded(calendar.get(Calendar.MILLISECOND), 3).append(' ');
+        line.append(entry.level).append(entry.level == Level.DEBUG ? " " : "  ");
+        line.append('[').append(entry.thread).append("] ");
+
+        String template = entry.template;
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while (argIndex < 3 && (placeholder = template.indexOf("{}", start)) >= 0) {
+            line.append(template, start, placeholder);
+            if (entry.numberIndex == argIndex) {
+                line.append(entry.number);
+            } else {
+                appendArg(entry.arg(argIndex));
+            }
+            argIndex++;
+            start = placeholder + 2;
+        }
+        line.append(template, start, template.length());
+
+        // Arguments without a placeholder are only printed if they are exceptions
+        for (int i = argIndex; i < 3; i++) {
+            Object arg = entry.arg(i);
+            if (arg instanceof Throwable && i != entry.numberIndex) {
+                return (Throwable) arg;
+            }
+        }
+        return null;
+    }
+
+    private static void appendArg(Object arg) {
+        try {
+            line.append(arg);
+        } catch (RuntimeException e) {
+            line.append("<").append(e).append(">");
+        }
+    }
+
+    private static StringBuilder appendPadded(int value, int width) {
+        for (int limit = 10, digits = 1; digits < width; limit *= 10, digits++) {
+            if (value < limit) {
+                line.append('0');
+            }
+        }
+        return line.append(value);
+    }
+
+    private static Level parseLevel(String name) {
+        try {
+            return Level.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.out.println("Unbekannte Log-Stufe, verwende INFO: " + name);
+            return Level.INFO;
+        }
+    }
+
+    private static final class Entry {
+        volatile long sequence;
+        Level level;
+        long millis;
+        String thread;
+        String template;
+        Object arg1;
+        Object arg2;
+        Object arg3;
+        long number;
+        int numberIndex;
+
+        Entry(long sequence) {
+            this.sequence = sequence;
+        }
+
+        void clear() {
+            thread = null;
+            template = null;
+            arg1 = null;
+            arg2 = null;
+            arg3 = null;
+        }
+
+        Object arg(int index) {
+            return index == 0 ? arg1 : index == 1 ? arg2 : arg3;
+        }
+    }
+}
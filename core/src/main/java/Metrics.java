@@ -0,0 +1,149 @@
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The game's named latency histograms, e.g. for the UI and the controller input.
+ * <p>
+ * Code that wants to be measured takes a histogram from {@link #histogram(String)} once and records into it;
+ * recording is cheap and always on. The histograms can be written to a file with {@link #dump(File)} and, after
+ * {@link #registerMBeans()}, read over JMX: one MXBean per histogram ({@code geoquiz:type=Histogram,name=...})
+ * plus {@code geoquiz:type=UiMetrics} for a summary, a dump and a reset, e.g. from JConsole. When and how they are
+ * reported is up to the application, see {@code UiMetrics} in the ui module.
+ * </p>
+ */
+public final class Metrics {
+    private static final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+    private static MBeanServer mbeanServer;
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it on first use. Callers should keep the result
+     * in a field rather than looking it up for every value.
+     */
+    public static synchronized LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = new LatencyHistogram(name);
+            histograms.put(name, histogram);
+            if (mbeanServer != null) {
+                registerMBean(histogram);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * @return All histograms in the order they were created.
+     */
+    public static synchronized List<LatencyHistogram> getHistograms() {
+        return new ArrayList<>(histograms.values());
+    }
+
+    /**
+     * @return One line per histogram, as in {@link LatencyHistogram#toString()}.
+     */
+    public static String format() {
+        StringBuilder text = new StringBuilder();
+        for (LatencyHistogram histogram : getHistograms()) {
+            text.append(histogram).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes the current state of all histograms to a file, replacing its contents.
+     */
+    public static void dump(File file) throws IOException {
+        String text = "# " + new Date() + System.lineSeparator() + format();
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Clears all histograms, e.g. after warming up.
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : getHistograms()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Offers all histograms, including those created later, over JMX. Does nothing if already done.
+     */
+    public static synchronized void registerMBeans() {
+        if (mbeanServer != null) {
+            return;
+        }
+        mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            mbeanServer.registerMBean(new Control(), new ObjectName("geoquiz:type=UiMetrics"));
+        } catch (JMException e) {
+            Log.warn("UI-Metriken können nicht über JMX angeboten werden", e);
+        }
+        for (LatencyHistogram histogram : histograms.values()) {
+            registerMBean(histogram);
+        }
+    }
+
+    private static void registerMBean(LatencyHistogram histogram) {
+        try {
+            mbeanServer.registerMBean(new HistogramView(histogram),
+                    new ObjectName("geoquiz:type=Histogram,name=" + ObjectName.quote(histogram.getName())));
+        } catch (JMException e) {
+            Log.warn("Histogramm {} kann nicht über JMX angeboten werden", histogram.getName(), e);
+        }
+    }
+
+    /**
+     * JMX view of one histogram.
+     */
+    public interface HistogramMXBean {
+        long getCount();
+        double getP50Millis();
+        double getP99Millis();
+        double getMaxMillis();
+        void reset();
+    }
+
+    /**
+     * JMX operations on all histograms.
+     */
+    public interface ControlMXBean {
+        String getSummary();
+        void dump(String path) throws IOException;
+        void reset();
+    }
+
+    private static final class HistogramView implements HistogramMXBean {
+        private final LatencyHistogram histogram;
+
+        HistogramView(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        public long getCount() { return histogram.getCount(); }
+        public double getP50Millis() { return histogram.getPercentile(50) / 1e6; }
+        public double getP99Millis() { return histogram.getPercentile(99) / 1e6; }
+        public double getMaxMillis() { return histogram.getMax() / 1e6; }
+        public void reset() { histogram.reset(); }
+    }
+
+    private static final class Control implements ControlMXBean {
+        public String getSummary() { return format(); }
+        public void dump(String path) throws IOException { Metrics.dump(new File(path)); }
+        public void reset() { Metrics.reset(); }
+    }
+}
@@ -1,4 +1,3 @@
-import javax.swing.ImageIcon;
 import java.io.Serializable;
 import java.util.List;
 
@@ -11,11 +10,11 @@ public class Question implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private String questionText;
-    private ImageIcon questionImage;
+    private ImageHandle questionImage;
     private List<AnswerOption> answerOptions;
 
     // Constructors
-    public Question(String questionText, ImageIcon questionImage, List<AnswerOption> answerOptions) {
+    public Question(String questionText, ImageHandle questionImage, List<AnswerOption> answerOptions) {
         this.questionText = questionText;
         this.questionImage = questionImage;
         this.answerOptions = answerOptions;
@@ -25,12 +24,12 @@ public class Question implements Serializable {
         this(questionText, null, answerOptions);
     }
 
-    public Question(ImageIcon questionImage, List<AnswerOption> answerOptions) {
+    public Question(ImageHandle questionImage, List<AnswerOption> answerOptions) {
         this(null, questionImage, answerOptions);
     }
 
     // Getters
     public String getQuestionText() { return questionText; }
-    public ImageIcon getQuestionImage() { return questionImage; }
+    public ImageHandle getQuestionImage() { return questionImage; }
     public List<AnswerOption> getAnswerOptions() { return answerOptions; }
 }
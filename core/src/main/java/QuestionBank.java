@@ -0,0 +1,247 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Compact, column-wise storage for question banks with a very large number of questions.
+ * <p>
+ * Instead of one {@link Question} with a list of {@link AnswerOption}s per question, the bank keeps a few
+ * primitive arrays: texts are ids into a table of distinct strings (city and country names repeat across
+ * thousands of questions), images are ids into a table of distinct {@link ImageHandle}s, the answers of
+ * question {@code q} are the entries {@code answerOffset[q]} to {@code answerOffset[q + 1] - 1} of the
+ * answer columns, and the correct answer is a byte per question.
+ * </p>
+ * <p>
+ * As a list, the bank is a read-only view that creates the {@link Question} on each access, so it can back
+ * a {@link QuizSet} and be played by {@link QuizGame} like any other set. The bank is immutable once built
+ * and may be read from any thread.
+ * </p>
+ */
+public final class QuestionBank extends AbstractList<Question> implements RandomAccess {
+    /** Id of a missing text or image, and the correct index of a question without a correct answer. */
+    public static final int NONE = -1;
+
+    /** Most answers a question may have; the correct index is stored in a byte. */
+    public static final int MAX_ANSWERS = Byte.MAX_VALUE;
+
+    private final String[] strings;
+    private final ImageHandle[] images;
+    private final int questionCount;
+    private final int[] questionText;
+    // Null if no question of the bank has an image, as in most text-only sets; the same for the answers
+    private final int[] questionImage;
+    private final int[] answerOffset;
+    private final int[] answerText;
+    private final int[] answerImage;
+    private final byte[] correctIndex;
+
+    private QuestionBank(Builder builder) {
+        questionCount = builder.questionCount;
+        strings = builder.strings.toArray(new String[0]);
+        images = builder.images.toArray(new ImageHandle[0]);
+        int answerCount = builder.answerOffset[questionCount];
+        questionText = Arrays.copyOf(builder.questionText, questionCount);
+        questionImage = images.length > 0 ? Arrays.copyOf(builder.questionImage, questionCount) : null;
+        answerOffset = Arrays.copyOf(builder.answerOffset, questionCount + 1);
+        answerText = Arrays.copyOf(builder.answerText, answerCount);
+        answerImage = images.length > 0 ? Arrays.copyOf(builder.answerImage, answerCount) : null;
+        correctIndex = Arrays.copyOf(builder.correctIndex, questionCount);
+    }
+
+    /**
+     * Copies the questions into a new bank.
+     *
+     * @throws IllegalArgumentException if a question cannot be stored, see {@link Builder#add(Question)}.
+     */
+    public static QuestionBank of(List<Question> questions) {
+        Builder builder = new Builder(questions.size());
+        for (Question question : questions) {
+            builder.add(question);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public Question get(int index) {
+        checkIndex(index);
+        int first = answerOffset[index];
+        int count = answerOffset[index + 1] - first;
+        int correct = correctIndex[index];
+        List<AnswerOption> answers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            answers.add(new AnswerOption(string(answerText[first + i]),
+                    answerImage != null ? image(answerImage[first + i]) : null, i == correct));
+        }
+        return new Question(string(questionText[index]),
+                questionImage != null ? image(questionImage[index]) : null, answers);
+    }
+
+    @Override
+    public int size() {
+        return questionCount;
+    }
+
+    /**
+     * @return the number of answers of the question.
+     */
+    public int getAnswerCount(int question) {
+        checkIndex(question);
+        return answerOffset[question + 1] - answerOffset[question];
+    }
+
+    /**
+     * @return the index of the correct answer among the answers of the question, or {@link #NONE}.
+     */
+    public int getCorrectIndex(int question) {
+        checkIndex(question);
+        return correctIndex[question];
+    }
+
+    /**
+     * @return the number of distinct texts in the bank.
+     */
+    public int getStringCount() {
+        return strings.length;
+    }
+
+    /**
+     * @return the number of distinct images in the bank.
+     */
+    public int getImageCount() {
+        return images.length;
+    }
+
+    private String string(int id) {
+        return id != NONE ? strings[id] : null;
+    }
+
+    private ImageHandle image(int id) {
+        return id != NONE ? images[id] : null;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= questionCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + questionCount);
+        }
+    }
+
+    /**
+     * Collects questions one at a time, e.g. from a {@link QuizSetStream}, so a bank can be built without
+     * ever holding the questions as objects.
+     */
+    public static final class Builder {
+        // Texts and images are interned while building; the bank keeps only the tables
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Map<ImageHandle, Integer> imageIds = new HashMap<>();
+        private final List<ImageHandle> images = new ArrayList<>();
+        private int questionCount;
+        private int[] questionText;
+        private int[] questionImage;
+        private int[] answerOffset;
+        private int[] answerText;
+        private int[] answerImage;
+        private byte[] correctIndex;
+
+        public Builder() {
+            this(16);
+        }
+
+        /**
+         * @param expectedQuestions The number of questions to make room for; more may be added.
+         */
+        public Builder(int expectedQuestions) {
+            int capacity = Math.max(expectedQuestions, 1);
+            questionText = new int[capacity];
+            questionImage = new int[capacity];
+            correctIndex = new byte[capacity];
+            answerOffset = new int[capacity + 1];
+            answerText = new int[capacity * 4];
+            answerImage = new int[capacity * 4];
+        }
+
+        /**
+         * Appends a question.
+         *
+         * @throws IllegalArgumentException if the question has more than one correct answer or more than
+         *                                  {@link QuestionBank#MAX_ANSWERS} answers; such a set has to stay a list of objects.
+         */
+        public Builder add(Question question) {
+            List<AnswerOption> answers = question.getAnswerOptions() != null
+                    ? question.getAnswerOptions() : Collections.<AnswerOption>emptyList();
+            if (answers.size() > MAX_ANSWERS) {
+                throw new IllegalArgumentException("Question " + questionCount + " has more than " + MAX_ANSWERS + " answers");
+            }
+            if (questionCount == questionText.length) {
+                int capacity = questionCount + (questionCount >> 1) + 1;
+                questionText = Arrays.copyOf(questionText, capacity);
+                questionImage = Arrays.copyOf(questionImage, capacity);
+                correctIndex = Arrays.copyOf(correctIndex, capacity);
+                answerOffset = Arrays.copyOf(answerOffset, capacity + 1);
+            }
+            int first = answerOffset[questionCount];
+            if (first + answers.size() > answerText.length) {
+                int capacity = Math.max(first + answers.size(), answerText.length + (answerText.length >> 1));
+                answerText = Arrays.copyOf(answerText, capacity);
+                answerImage = Arrays.copyOf(answerImage, capacity);
+            }
+
+            int correct = NONE;
+            for (int i = 0; i < answers.size(); i++) {
+                AnswerOption answer = answers.get(i);
+                if (answer.isCorrect()) {
+                    if (correct != NONE) {
+                        throw new IllegalArgumentException("Question " + questionCount + " has more than one correct answer");
+                    }
+                    correct = i;
+                }
+                answerText[first + i] = stringId(answer.getText());
+                answerImage[first + i] = imageId(answer.getImage());
+            }
+            questionText[questionCount] = stringId(question.getQuestionText());
+            questionImage[questionCount] = imageId(question.getQuestionImage());
+            correctIndex[questionCount] = (byte) correct;
+            answerOffset[questionCount + 1] = first + answers.size();
+            questionCount++;
+            return this;
+        }
+
+        /**
+         * @return a bank of the questions added so far, with its arrays trimmed to size.
+         */
+        public QuestionBank build() {
+            return new QuestionBank(this);
+        }
+
+        private int stringId(String text) {
+            if (text == null) {
+                return NONE;
+            }
+            Integer id = stringIds.get(text);
+            if (id == null) {
+                id = strings.size();
+                stringIds.put(text, id);
+                strings.add(text);
+            }
+            return id;
+        }
+
+        private int imageId(ImageHandle image) {
+            if (image == null) {
+                return NONE;
+            }
+            Integer id = imageIds.get(image);
+            if (id == null) {
+                id = images.size();
+                imageIds.put(image, id);
+                images.add(image);
+            }
+            return id;
+        }
+    }
+}
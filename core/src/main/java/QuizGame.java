@@ -0,0 +1,268 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Manages the quiz game logic.
+ * <p>
+ * Questions are pulled from their source only as far as the game (plus its look-ahead)
+ * has progressed, and dropped once they have been played. A game over a
+ * {@link QuizSetStream} can therefore start after the first question is parsed and
+ * keeps memory bounded no matter how large the question bank is.
+ * </p>
+ * <p>
+ * A game can also be a round of a few questions drawn at random from a large set. Drawing and the order
+ * of the answers both derive from the game's seed, so a round can be replayed exactly. The generator is
+ * SplitMix64, which is small and fast and needs no state besides a counter. Each question's answer order
+ * is computed from the seed and the question's position, so it does not depend on the order in which the
+ * questions are prepared.
+ * </p>
+ */
+public class QuizGame {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final List<Question> questions;
+    // Indexes of the drawn questions in play order, or null if the whole set is played in order
+    private final int[] drawn;
+    private final long seed;
+    private Iterator<Question> source;
+    // The current question followed by the upcoming questions read so far
+    private final List<Question> window = new ArrayList<>();
+    private int currentQuestionIndex;
+
+    /**
+     * Constructs a QuizGame using the provided QuizSet.
+     *
+     * @param quizSet the loaded quiz set containing questions
+     */
+    public QuizGame(QuizSet quizSet) {
+        this.questions = quizSet.getQuestions();
+        this.drawn = null;
+        this.seed = System.nanoTime();
+        this.source = questions.iterator();
+        this.currentQuestionIndex = 0;
+    }
+
+    /**
+     * Constructs a QuizGame that plays a round of questions drawn at random, without repetition, from the set.
+     * Takes time and memory in proportion to the round, not to the set, if the set's question list has fast
+     * random access (as {@link QuestionBank} and all loaded sets do).
+     *
+     * @param quizSet       the loaded quiz set to draw from
+     * @param questionCount the number of questions in the round; the whole set if it has fewer
+     * @param seed          the seed the round and its answer orders are derived from
+     */
+    public QuizGame(QuizSet quizSet, int questionCount, long seed) {
+        this.questions = quizSet.getQuestions();
+        this.drawn = draw(questions.size(), Math.max(0, Math.min(questionCount, questions.size())), seed);
+        this.seed = seed;
+        this.source = drawnQuestions();
+        this.currentQuestionIndex = 0;
+    }
+
+    /**
+     * Constructs a QuizGame that plays the questions of a stream in order.
+     * Such a game cannot be {@link #reset()}.
+     *
+     * @param questionStream the questions to play, e.g. a {@link QuizSetStream}
+     */
+    public QuizGame(Iterator<Question> questionStream) {
+        this.questions = null;
+        this.drawn = null;
+        this.seed = System.nanoTime();
+        this.source = questionStream;
+        this.currentQuestionIndex = 0;
+    }
+
+    /**
+     * Returns the current question.
+     *
+     * @return the current Question or null if finished.
+     */
+    public Question getCurrentQuestion() {
+        return peekQuestion(0);
+    }
+
+    /**
+     * Returns an upcoming question without advancing.
+     *
+     * @param offset how far to look ahead; 0 is the current question.
+     * @return the Question or null if the quiz ends before it.
+     */
+    public Question peekQuestion(int offset) {
+        while (window.size() <= offset && source.hasNext()) {
+            window.add(source.next());
+        }
+        if (offset < window.size()) {
+            return window.get(offset);
+        }
+        return null;
+    }
+
+    /**
+     * @return the index of the current question.
+     */
+    public int getCurrentQuestionIndex() {
+        return currentQuestionIndex;
+    }
+
+    /**
+     * @return the seed of the game's random draws and answer orders.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the order in which the answers of a question are shown: entry {@code i} is the index in
+     * {@link Question#getAnswerOptions()} of the answer shown at place {@code i}. The order only depends on
+     * the seed and the position, so it is the same each time it is asked for.
+     *
+     * @param position    the question's position in the game, as in {@link #getCurrentQuestionIndex()}
+     * @param answerCount the number of answers of the question
+     * @param reuse       an array to fill if it has exactly {@code answerCount} entries, or null
+     * @return {@code reuse} or a new array, holding a permutation of {@code 0 .. answerCount - 1}
+     */
+    public int[] answerOrder(int position, int answerCount, int[] reuse) {
+        int[] order = reuse != null && reuse.length == answerCount ? reuse : new int[answerCount];
+        for (int i = 0; i < answerCount; i++) {
+            order[i] = i;
+        }
+        // A stream of its own per position, scrambled apart from the one the questions are drawn with
+        long state = mix(mix(seed ^ 0xA5A5A5A5A5A5A5A5L) + position);
+        for (int i = answerCount - 1; i > 0; i--) {
+            state += GOLDEN_GAMMA;
+            int j = nextInt(state, i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    /**
+     * Advances to the next question.
+     */
+    public void nextQuestion() {
+        if (peekQuestion(0) != null) {
+            window.remove(0);
+        }
+        currentQuestionIndex++;
+    }
+
+    /**
+     * Resets the quiz to the beginning; a round of drawn questions is played again as it was.
+     *
+     * @throws UnsupportedOperationException if the game plays a stream.
+     */
+    public void reset() {
+        if (questions == null) {
+            throw new UnsupportedOperationException("A streamed quiz cannot be reset");
+        }
+        window.clear();
+        source = drawn != null ? drawnQuestions() : questions.iterator();
+        currentQuestionIndex = 0;
+    }
+
+    /**
+     * Releases the question source if it holds resources (e.g. an open file).
+     */
+    public void close() {
+        if (source instanceof Closeable) {
+            try {
+                ((Closeable) source).close();
+            } catch (IOException e) {
+                Log.warn("Quiz-Set konnte nicht geschlossen werden", e);
+            }
+        }
+    }
+
+    private Iterator<Question> drawnQuestions() {
+        return new Iterator<Question>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < drawn.length;
+            }
+
+            @Override
+            public Question next() {
+                if (next >= drawn.length) {
+                    throw new NoSuchElementException();
+                }
+                return questions.get(drawn[next++]);
+            }
+        };
+    }
+
+    /**
+     * Draws {@code count} distinct indexes below {@code size} with a partial Fisher-Yates shuffle. The index
+     * array being shuffled is only virtual: a small table records the entries that were swapped away from
+     * their initial value {@code i}, so the draw takes O(count) time and memory however large {@code size} is.
+     */
+    static int[] draw(int size, int count, long seed) {
+        int[] result = new int[count];
+        // Open addressing, at most half full: position -> index now stored there
+        int capacity = Integer.highestOneBit(Math.max(count, 1) * 4 - 1) << 1;
+        int[] keys = new int[capacity];
+        int[] values = new int[capacity];
+        Arrays.fill(keys, -1);
+        long state = seed;
+        for (int i = 0; i < count; i++) {
+            state += GOLDEN_GAMMA;
+            int j = i + nextInt(state, size - i);
+            int atJ = lookup(keys, values, j);
+            result[i] = atJ;
+            store(keys, values, j, lookup(keys, values, i));
+        }
+        return result;
+    }
+
+    private static int lookup(int[] keys, int[] values, int position) {
+        int mask = keys.length - 1;
+        for (int slot = hash(position) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == position) {
+                return values[slot];
+            }
+            if (keys[slot] == -1) {
+                return position;
+            }
+        }
+    }
+
+    private static void store(int[] keys, int[] values, int position, int value) {
+        int mask = keys.length - 1;
+        int slot = hash(position) & mask;
+        while (keys[slot] != -1 && keys[slot] != position) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = position;
+        values[slot] = value;
+    }
+
+    /**
+     * @return a value in {@code [0, bound)} from the SplitMix64 output for the given state; multiplying the
+     *         upper 32 bits by the bound is as good as uniform for bounds far below 2^32.
+     */
+    private static int nextInt(long state, int bound) {
+        return (int) (((mix(state) >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * The SplitMix64 output function, a bijective scrambling of all 64 bits.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int hash(int position) {
+        return (int) (mix((long) position) >>> 32);
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Command-line tool that converts JSON quiz sets into the {@link BinaryQuizSetFormat}.
+ * <p>
+ * Usage: {@code java QuizSetConverter data/quizsets/geoquiz_set1.json [more.json ...]}
+ * <br>
+ * Each set is written next to its source with the extension {@value BinaryQuizSetFormat#EXTENSION}.
+ * </p>
+ */
+public class QuizSetConverter {
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: java QuizSetConverter <quizset.json> [...]");
+            System.exit(1);
+        }
+        int failures = 0;
+        for (String jsonPath : args) {
+            QuizSet quizSet = QuizSetLoader.loadQuizSet(jsonPath);
+            if (quizSet == null) {
+                System.out.println("Fehler beim Laden des Quiz-Sets von: " + jsonPath);
+                failures++;
+                continue;
+            }
+            if (!QuizSetManager.saveQuizSet(binaryPathFor(jsonPath), quizSet)) {
+                failures++;
+            }
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * @param jsonPath Path of a JSON quiz set.
+     * @return The path of the corresponding binary quiz set.
+     */
+    public static String binaryPathFor(String jsonPath) {
+        String base = jsonPath.endsWith(".json") ? jsonPath.substring(0, jsonPath.length() - 5) : jsonPath;
+        return base + BinaryQuizSetFormat.EXTENSION;
+    }
+}
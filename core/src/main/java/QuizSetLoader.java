@@ -0,0 +1,85 @@
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads quiz sets from JSON files.
+ * <p>
+ * A single Gson instance with the hand-written {@link QuizSetTypeAdapters} is shared
+ * by all loads; Gson is thread-safe, so sets may be loaded from any thread.
+ * Files are always read as UTF-8.
+ * </p>
+ */
+public class QuizSetLoader {
+    private static final Gson GSON = QuizSetTypeAdapters.register(new GsonBuilder()).create();
+
+    public static QuizSet loadQuizSet(String filePath) {
+        try (Reader reader = openReader(filePath)) {
+            return GSON.fromJson(reader, QuizSet.class);
+        } catch (Exception e) {
+            Log.warn("Quiz-Set konnte nicht geladen werden: {}", filePath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Loads a quiz set into a {@link QuestionBank}, for question banks too large to keep as objects. The
+     * questions are read one at a time, so they never all exist as objects at once. A set the bank cannot
+     * hold (a question with several correct answers) is loaded as usual instead.
+     *
+     * @param filePath The file path of a JSON quiz set.
+     * @return The quiz set backed by a bank, or null if it could not be loaded.
+     */
+    public static QuizSet loadQuestionBank(String filePath) {
+        QuestionBank.Builder builder = new QuestionBank.Builder();
+        String setName;
+        try (QuizSetStream stream = streamQuizSet(filePath)) {
+            while (stream.hasNext()) {
+                builder.add(stream.next());
+            }
+            setName = stream.getSetName();
+        } catch (IllegalArgumentException e) {
+            Log.info("Quiz-Set passt nicht in eine Fragen-Bank ({}), wird vollständig geladen: {}", e.getMessage(), filePath);
+            return loadQuizSet(filePath);
+        } catch (Exception e) {
+            Log.warn("Quiz-Set konnte nicht geladen werden: {}", filePath, e);
+            return null;
+        }
+        return new QuizSet(setName, builder.build());
+    }
+
+    /**
+     * Opens a quiz set for incremental reading, for question banks too large to load at once.
+     *
+     * @param filePath The file path of a JSON quiz set.
+     * @return A stream positioned at the first question; close it if it is abandoned early.
+     * @throws IOException if the file cannot be opened or does not start like a quiz set.
+     */
+    public static QuizSetStream streamQuizSet(String filePath) throws IOException {
+        JsonReader reader = GSON.newJsonReader(openReader(filePath));
+        try {
+            return new QuizSetStream(reader);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the shared, fully configured Gson instance.
+     */
+    public static Gson getGson() {
+        return GSON;
+    }
+
+    private static Reader openReader(String filePath) throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8));
+    }
+}
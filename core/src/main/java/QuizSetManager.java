@@ -0,0 +1,43 @@
+import java.io.IOException;
+
+/**
+ * Manages saving and loading of quiz sets in the compact {@link BinaryQuizSetFormat}.
+ * <p>
+ * Loading maps the file into memory and decodes questions and images only when
+ * they are accessed, so opening a set takes milliseconds regardless of its size.
+ * </p>
+ */
+public class QuizSetManager {
+    /**
+     * Saves the provided QuizSet to a file.
+     * @param filename The file path to save the quiz set.
+     * @param quizSet The QuizSet object to save.
+     * @return true if the set was saved, false if an error occurred.
+     */
+    public static boolean saveQuizSet(String filename, QuizSet quizSet) {
+        try {
+            BinaryQuizSetWriter.write(filename, quizSet);
+            Log.info("QuizSet saved to {}", filename);
+            return true;
+        } catch (IOException e) {
+            Log.warn("QuizSet could not be saved to {}", filename, e);
+            return false;
+        }
+    }
+
+    /**
+     * Loads a QuizSet from a file.
+     * @param filename The file path from which to load the quiz set.
+     * @return The loaded QuizSet, or null if an error occurred.
+     */
+    public static QuizSet loadQuizSet(String filename) {
+        try {
+            QuizSet quizSet = BinaryQuizSetReader.open(filename);
+            Log.debug("QuizSet loaded from {}", filename);
+            return quizSet;
+        } catch (IOException e) {
+            Log.warn("QuizSet could not be loaded from {}", filename, e);
+        }
+        return null;
+    }
+}
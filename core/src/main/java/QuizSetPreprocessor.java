@@ -0,0 +1,290 @@
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Command-line tool that prepares JSON quiz sets for the cabinet: every image is scaled to the boxes the quiz
+ * screen shows it in and stored as a small JPEG named after the content hash of the original, and the set is
+ * rewritten to point at these thumbnails, so the game never decodes the multi-megapixel originals.
+ * <p>
+ * Usage: {@code java QuizSetPreprocessor <target directory> <quizset.json or directory> [...]}
+ * <br>
+ * Run it from the directory the image paths in the sets are relative to (the project directory). Thumbnails
+ * are written to {@value #THUMBNAIL_DIRECTORY} and the rewritten sets, under their own file names, to
+ * {@value #QUIZSET_DIRECTORY} in the target directory. A thumbnail that exists already is kept, so only new
+ * or changed originals are decoded again; all originals are still read once to hash them. The images are
+ * processed in parallel on a {@link ForkJoinPool}.
+ * </p>
+ */
+public class QuizSetPreprocessor {
+    static final String THUMBNAIL_DIRECTORY = "data/thumbnails";
+    static final String QUIZSET_DIRECTORY = "data/quizsets";
+
+    private static final Dimension QUESTION_BOX =
+            new Dimension(ScaledImageCache.QUESTION_IMAGE_WIDTH, ScaledImageCache.QUESTION_IMAGE_HEIGHT);
+    private static final Dimension ANSWER_BOX =
+            new Dimension(ScaledImageCache.ANSWER_IMAGE_WIDTH, ScaledImageCache.ANSWER_IMAGE_HEIGHT);
+
+    /** Hex digits of the SHA-256 of the original in a thumbnail's name. */
+    private static final int HASH_LENGTH = 16;
+
+    private final File targetDirectory;
+    private final Map<String, ImageJob> jobs = new LinkedHashMap<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    QuizSetPreprocessor(File targetDirectory) {
+        this.targetDirectory = targetDirectory;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java QuizSetPreprocessor <target directory> <quizset.json | directory> [...]");
+            System.exit(1);
+        }
+        List<File> sources = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            File source = new File(args[i]);
+            File[] jsonFiles = source.listFiles((directory, name) -> name.endsWith(".json"));
+            if (jsonFiles != null) {
+                Arrays.sort(jsonFiles);
+                sources.addAll(Arrays.asList(jsonFiles));
+            } else {
+                sources.add(source);
+            }
+        }
+        boolean success = new QuizSetPreprocessor(new File(args[0])).process(sources);
+        System.exit(success ? 0 : 1);
+    }
+
+    /**
+     * Makes the thumbnails of all sets and writes the rewritten sets.
+     *
+     * @param sources The JSON quiz sets.
+     * @return true if every set was written and every existing image has its thumbnails.
+     */
+    boolean process(List<File> sources) {
+        // Rewritten sets by target file
+        Map<File, QuizSet> quizSets = new LinkedHashMap<>();
+        for (File source : sources) {
+            File target = new File(new File(targetDirectory, QUIZSET_DIRECTORY), source.getName());
+            if (isSameFile(source, target)) {
+                Log.warn("Ziel ist die Quelle selbst: {}", target);
+                failures.incrementAndGet();
+                continue;
+            }
+            QuizSet quizSet = QuizSetLoader.loadQuizSet(source.getPath());
+            if (quizSet == null) {
+                Log.warn("Fehler beim Laden des Quiz-Sets von: {}", source);
+                failures.incrementAndGet();
+                continue;
+            }
+            quizSets.put(target, quizSet);
+            for (Question question : quizSet.getQuestions()) {
+                addJob(question.getQuestionImage(), QUESTION_BOX);
+                for (AnswerOption answer : question.getAnswerOptions()) {
+                    addJob(answer.getImage(), ANSWER_BOX);
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        List<ImageJob> pending = new ArrayList<>(jobs.values());
+        if (!pending.isEmpty()) {
+            ForkJoinPool pool = new ForkJoinPool();
+            try {
+                pool.invoke(new ProcessImages(pending, 0, pending.size()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        // Warnings of the image jobs first, so the summary is not interleaved with them
+        Log.flush();
+        System.out.println(created.get() + " neue Vorschaubilder aus " + pending.size() + " Bildern in "
+                + (System.nanoTime() - start) / 1_000_000L + " ms");
+
+        for (Map.Entry<File, QuizSet> entry : quizSets.entrySet()) {
+            try {
+                writeJson(entry.getKey(), rewrite(entry.getValue()));
+            } catch (IOException e) {
+                Log.warn("Quiz-Set konnte nicht geschrieben werden: {}", entry.getKey(), e);
+                failures.incrementAndGet();
+            }
+        }
+        return failures.get() == 0;
+    }
+
+    private static boolean isSameFile(File source, File target) {
+        try {
+            return target.getCanonicalFile().equals(source.getCanonicalFile());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void addJob(ImageHandle image, Dimension box) {
+        if (image == null) {
+            return;
+        }
+        ImageJob job = jobs.get(image.getPath());
+        if (job == null) {
+            job = new ImageJob(image.getPath());
+            jobs.put(image.getPath(), job);
+        }
+        if (!job.thumbnails.containsKey(box)) {
+            job.thumbnails.put(box, null);
+        }
+    }
+
+    private QuizSet rewrite(QuizSet quizSet) {
+        List<Question> questions = new ArrayList<>(quizSet.getQuestions().size());
+        for (Question question : quizSet.getQuestions()) {
+            List<AnswerOption> answers = new ArrayList<>(question.getAnswerOptions().size());
+            for (AnswerOption answer : question.getAnswerOptions()) {
+                answers.add(new AnswerOption(answer.getText(), thumbnail(answer.getImage(), ANSWER_BOX), answer.isCorrect()));
+            }
+            questions.add(new Question(question.getQuestionText(), thumbnail(question.getQuestionImage(), QUESTION_BOX), answers));
+        }
+        return new QuizSet(quizSet.getSetName(), questions);
+    }
+
+    /**
+     * @return A handle of the thumbnail, or the original handle if there is none (e.g. the original is missing).
+     */
+    private ImageHandle thumbnail(ImageHandle image, Dimension box) {
+        if (image == null) {
+            return null;
+        }
+        String thumbnail = jobs.get(image.getPath()).thumbnails.get(box);
+        return thumbnail != null ? new ImageHandle(THUMBNAIL_DIRECTORY + '/' + thumbnail) : image;
+    }
+
+    private static void writeJson(File target, QuizSet quizSet) throws IOException {
+        Gson gson = QuizSetTypeAdapters.register(new GsonBuilder()).setPrettyPrinting().disableHtmlEscaping().create();
+        Path temporary = temporaryFileFor(target);
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(temporary), StandardCharsets.UTF_8)) {
+            gson.toJson(quizSet, QuizSet.class, writer);
+        }
+        Files.move(temporary, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Splits the images in halves until one is left, which is then processed in this task.
+     */
+    private static final class ProcessImages extends RecursiveAction {
+        private final List<ImageJob> jobs;
+        private final int from;
+        private final int to;
+
+        ProcessImages(List<ImageJob> jobs, int from, int to) {
+            this.jobs = jobs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                jobs.get(from).run();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ProcessImages(jobs, from, middle), new ProcessImages(jobs, middle, to));
+        }
+    }
+
+    /**
+     * One original with the boxes it is shown in. After {@link #run()}, each box maps to the file name of
+     * its thumbnail, or to null if the original is missing or could not be processed.
+     */
+    private final class ImageJob {
+        private final String path;
+        private final Map<Dimension, String> thumbnails = new LinkedHashMap<>();
+
+        ImageJob(String path) {
+            this.path = path;
+        }
+
+        void run() {
+            File source = new File(path);
+            if (!source.isFile()) {
+                Log.warn("Bild nicht gefunden, Verweis bleibt: {}", path);
+                return;
+            }
+            try {
+                String hash = ImageStore.contentHash(source).substring(0, HASH_LENGTH);
+                File directory = new File(targetDirectory, THUMBNAIL_DIRECTORY);
+                BufferedImage decoded = null;
+                for (Map.Entry<Dimension, String> thumbnail : thumbnails.entrySet()) {
+                    Dimension box = thumbnail.getKey();
+                    String name = hash + '-' + box.width + 'x' + box.height + ".jpg";
+                    File target = new File(directory, name);
+                    if (!target.isFile()) {
+                        if (decoded == null) {
+                            decoded = decode();
+                        }
+                        write(target, BinaryQuizSetWriter.encodeThumbnail(decoded, box.width, box.height));
+                        created.incrementAndGet();
+                    }
+                    thumbnail.setValue(name);
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.warn("Bild konnte nicht verarbeitet werden: {}", path, e);
+                failures.incrementAndGet();
+                for (Map.Entry<Dimension, String> thumbnail : thumbnails.entrySet()) {
+                    thumbnail.setValue(null);
+                }
+            }
+        }
+
+        /**
+         * Decodes the original once, subsampled for a box enclosing all of its boxes.
+         */
+        private BufferedImage decode() throws IOException {
+            int width = 0;
+            int height = 0;
+            for (Dimension box : thumbnails.keySet()) {
+                width = Math.max(width, box.width);
+                height = Math.max(height, box.height);
+            }
+            BufferedImage decoded = ImageLoader.decode(path, null, width, height);
+            if (decoded == null) {
+                throw new IOException("unreadable image");
+            }
+            return decoded;
+        }
+    }
+
+    private static void write(File target, byte[] bytes) throws IOException {
+        // Written under a temporary name first, so an interrupted run never leaves a truncated thumbnail behind
+        Path temporary = temporaryFileFor(target);
+        Files.write(temporary, bytes);
+        Files.move(temporary, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return A file next to the target, unique per thread: two originals with the same content make the same thumbnail.
+     */
+    private static Path temporaryFileFor(File target) throws IOException {
+        Path directory = Files.createDirectories(target.getAbsoluteFile().getParentFile().toPath());
+        return directory.resolve(target.getName() + '.' + Thread.currentThread().getId() + ".tmp");
+    }
+}
@@ -0,0 +1,282 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Discovers the quiz sets in a directory and caches them once loaded.
+ * <p>
+ * Both JSON sets and converted binary sets ({@link BinaryQuizSetFormat#EXTENSION}) are
+ * found; if a set exists in both forms, the binary one is used unless the JSON file is
+ * newer. A background thread watches the directory: a changed file only invalidates its
+ * own cached set, and new or deleted files update the list of sets, so sets can be
+ * added while the game is running.
+ * </p>
+ */
+public class QuizSetRegistry {
+    /**
+     * JSON sets larger than this are loaded into a compact {@link QuestionBank}; until that is cached, their
+     * games are streamed.
+     */
+    public static final long STREAMING_THRESHOLD_BYTES = 1024L * 1024L;
+
+    /**
+     * Questions per game drawn at random from a set cached as a {@link QuestionBank}, overridable with
+     * -Dgeoquiz.roundSize=...; smaller sets are played in full. With -Dgeoquiz.seed=... a round can be replayed.
+     */
+    public static final int ROUND_SIZE = Integer.getInteger("geoquiz.roundSize", 20);
+
+    /**
+     * A quiz set found in the directory.
+     */
+    public static class Entry {
+        private final String path;
+        private final String setName;
+
+        Entry(String path, String setName) {
+            this.path = path;
+            this.setName = setName;
+        }
+
+        public String getPath() { return path; }
+        public String getSetName() { return setName; }
+    }
+
+    private final File directory;
+    private volatile List<Entry> entries = Collections.emptyList();
+    private final Map<String, QuizSet> cache = new ConcurrentHashMap<>();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private WatchService watchService;
+
+    public QuizSetRegistry(String directory) {
+        this.directory = new File(directory);
+    }
+
+    /**
+     * Scans the directory, tells the change listeners about the sets found and starts watching it for changes.
+     * The menu can therefore be shown before this runs, e.g. on a background thread once the window is up.
+     */
+    public synchronized void start() {
+        rescan();
+        fireChanged();
+        if (watchService != null) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            Log.warn("Quiz-Set-Verzeichnis kann nicht überwacht werden: {}", directory, e);
+            return;
+        }
+        Thread watcher = new Thread(this::watchLoop, "quizset-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the directory.
+     */
+    public synchronized void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                Log.warn("Überwachung des Quiz-Set-Verzeichnisses kann nicht beendet werden", e);
+            }
+            watchService = null;
+        }
+    }
+
+    /**
+     * @return the sets currently available, ordered by file name.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Registers a callback that runs after the initial scan (on the thread calling {@link #start()}) and then
+     * (on the watcher thread) whenever the list of sets changed.
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Returns the set, loading it only if it is not cached yet. A set is loaded once even if several threads
+     * ask for it at the same time; the others wait for that load.
+     *
+     * @param entry The set to load.
+     * @return The set, or null if it could not be loaded.
+     */
+    public QuizSet getQuizSet(Entry entry) {
+        // The load runs inside computeIfAbsent, so the watcher's remove for a file changed meanwhile waits for it
+        // and then drops the set just loaded, instead of the stale set being put back after the invalidation
+        return cache.computeIfAbsent(entry.getPath(), QuizSetRegistry::load);
+    }
+
+    /**
+     * Creates a game for the set. Large JSON sets are streamed as long as their question bank is
+     * not cached, so the game can start as soon as the first question is parsed; all others come
+     * from the cache. A game from a cached question bank is a round of {@link #ROUND_SIZE} random
+     * questions.
+     *
+     * @param entry The set to play.
+     * @return The game, or null if the set could not be loaded.
+     */
+    public QuizGame createGame(Entry entry) {
+        QuizSet cached = cache.get(entry.getPath());
+        if (cached != null && cached.getQuestions() instanceof QuestionBank) {
+            long seed = Long.getLong("geoquiz.seed", System.nanoTime());
+            Log.info("Runde aus der Fragen-Bank mit -Dgeoquiz.seed={}", seed);
+            return new QuizGame(cached, ROUND_SIZE, seed);
+        }
+        if (cached != null) {
+            return new QuizGame(cached);
+        }
+        if (isStreamed(entry)) {
+            try {
+                return new QuizGame(QuizSetLoader.streamQuizSet(entry.getPath()));
+            } catch (IOException e) {
+                Log.warn("Quiz-Set konnte nicht geöffnet werden: {}", entry.getPath(), e);
+                return null;
+            }
+        }
+        QuizSet quizSet = getQuizSet(entry);
+        return quizSet != null ? new QuizGame(quizSet) : null;
+    }
+
+    /**
+     * @return true if games of the set are streamed while it is not cached and the set is cached
+     *         as a {@link QuestionBank}, see {@link #STREAMING_THRESHOLD_BYTES}.
+     */
+    public boolean isStreamed(Entry entry) {
+        return isJson(entry.getPath()) && new File(entry.getPath()).length() > STREAMING_THRESHOLD_BYTES;
+    }
+
+    /**
+     * Re-reads the directory listing; cached sets stay valid.
+     */
+    public void rescan() {
+        Map<String, File> chosen = new TreeMap<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (!file.isFile() || !(isJson(name) || isBinary(name))) {
+                    continue;
+                }
+                String baseName = name.substring(0, name.lastIndexOf('.'));
+                File other = chosen.get(baseName);
+                if (other == null || isPreferred(file, other)) {
+                    chosen.put(baseName, file);
+                }
+            }
+        }
+        List<Entry> found = new ArrayList<>(chosen.size());
+        for (File file : chosen.values()) {
+            String path = directory.getPath() + File.separator + file.getName();
+            found.add(new Entry(path, readSetName(path, file.getName())));
+        }
+        entries = Collections.unmodifiableList(found);
+    }
+
+    private void watchLoop() {
+        WatchService service = watchService;
+        while (service != null) {
+            WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    cache.clear();
+                } else {
+                    Path changed = (Path) event.context();
+                    cache.remove(directory.getPath() + File.separator + changed);
+                }
+            }
+            rescan();
+            fireChanged();
+            if (!key.reset()) {
+                return;
+            }
+        }
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    private static QuizSet load(String path) {
+        if (isBinary(path)) {
+            QuizSet quizSet = QuizSetManager.loadQuizSet(path);
+            String source = path.substring(0, path.length() - BinaryQuizSetFormat.EXTENSION.length()) + ".json";
+            if (quizSet != null || !new File(source).isFile()) {
+                return quizSet;
+            }
+            // A damaged binary copy is not fatal while its JSON source is still there
+            Log.warn("Verwende stattdessen die JSON-Quelle {}", source);
+            path = source;
+        }
+        if (new File(path).length() > STREAMING_THRESHOLD_BYTES) {
+            return QuizSetLoader.loadQuestionBank(path);
+        }
+        return QuizSetLoader.loadQuizSet(path);
+    }
+
+    /**
+     * Reads only the set name: the header of a binary set or the JSON up to the first question.
+     */
+    private static String readSetName(String path, String fallback) {
+        String setName = null;
+        if (isBinary(path)) {
+            try {
+                setName = BinaryQuizSetReader.readSetName(path);
+            } catch (IOException e) {
+                Log.warn("Ungültiges Quiz-Set: {}", path);
+            }
+        } else {
+            try (QuizSetStream stream = QuizSetLoader.streamQuizSet(path)) {
+                setName = stream.getSetName();
+            } catch (IOException | RuntimeException e) {
+                Log.warn("Ungültiges Quiz-Set: {}", path);
+            }
+        }
+        return setName != null ? setName : fallback;
+    }
+
+    private static boolean isPreferred(File candidate, File other) {
+        // The binary form wins unless the JSON source is newer
+        if (isBinary(candidate.getName())) {
+            return candidate.lastModified() >= other.lastModified();
+        }
+        return other.lastModified() < candidate.lastModified();
+    }
+
+    private static boolean isJson(String name) {
+        return name.endsWith(".json");
+    }
+
+    private static boolean isBinary(String name) {
+        return name.endsWith(BinaryQuizSetFormat.EXTENSION);
+    }
+}
@@ -0,0 +1,101 @@
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the questions of a JSON quiz set one at a time.
+ * <p>
+ * Unlike {@link QuizSetLoader#loadQuizSet(String)} this never holds more than the
+ * question being parsed, so memory use does not depend on the size of the file.
+ * The set name is available as soon as it has been read; in the usual file layout
+ * it precedes the questions. The stream closes itself once the last question has
+ * been returned.
+ * </p>
+ */
+public class QuizSetStream implements Iterator<Question>, Closeable {
+    private final JsonReader reader;
+    private String setName;
+    private boolean inQuestions;
+    private boolean closed;
+
+    QuizSetStream(JsonReader reader) throws IOException {
+        this.reader = reader;
+        reader.beginObject();
+        advanceToQuestions();
+    }
+
+    /**
+     * @return the name of the set, or null if it has not been read (yet).
+     */
+    public String getSetName() {
+        return setName;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (inQuestions && reader.hasNext()) {
+                return true;
+            }
+            if (inQuestions) {
+                reader.endArray();
+                inQuestions = false;
+                advanceToQuestions();
+                if (inQuestions) {
+                    return hasNext();
+                }
+            }
+            close();
+            return false;
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    @Override
+    public Question next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return QuizSetTypeAdapters.QUESTION.read(reader);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads top-level properties until the start of a "questions" array or the end of the set.
+     */
+    private void advanceToQuestions() throws IOException {
+        if (closed) {
+            return;
+        }
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("setName".equals(name) && reader.peek() == JsonToken.STRING) {
+                setName = reader.nextString();
+            } else if ("questions".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                inQuestions = true;
+                return;
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+}
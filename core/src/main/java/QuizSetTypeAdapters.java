@@ -0,0 +1,183 @@
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written Gson adapters for the quiz-set model.
+ * <p>
+ * They read and write the same JSON as Gson's reflective adapters did, but without
+ * reflection, and they take the {@link ImageHandle}s for the image paths from the {@link ImageStore}.
+ * Unknown properties are skipped. All adapters are stateless and thread-safe.
+ * </p>
+ */
+public final class QuizSetTypeAdapters {
+    public static final TypeAdapter<ImageHandle> IMAGE_HANDLE = new ImageHandleAdapter().nullSafe();
+    public static final TypeAdapter<AnswerOption> ANSWER_OPTION = new AnswerOptionAdapter().nullSafe();
+    public static final TypeAdapter<Question> QUESTION = new QuestionAdapter().nullSafe();
+    public static final TypeAdapter<QuizSet> QUIZ_SET = new QuizSetAdapter().nullSafe();
+
+    private QuizSetTypeAdapters() {
+    }
+
+    /**
+     * Registers all adapters with the builder.
+     *
+     * @param builder The builder to configure.
+     * @return The same builder.
+     */
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(ImageHandle.class, IMAGE_HANDLE)
+                .registerTypeAdapter(AnswerOption.class, ANSWER_OPTION)
+                .registerTypeAdapter(Question.class, QUESTION)
+                .registerTypeAdapter(QuizSet.class, QUIZ_SET);
+    }
+
+    private static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static final class ImageHandleAdapter extends TypeAdapter<ImageHandle> {
+        @Override
+        public void write(JsonWriter out, ImageHandle value) throws IOException {
+            out.value(value.getPath());
+        }
+
+        @Override
+        public ImageHandle read(JsonReader in) throws IOException {
+            // Decoding is started by whoever needs the image first
+            return ImageStore.getInstance().intern(in.nextString());
+        }
+    }
+
+    private static final class AnswerOptionAdapter extends TypeAdapter<AnswerOption> {
+        @Override
+        public void write(JsonWriter out, AnswerOption value) throws IOException {
+            out.beginObject();
+            if (value.getText() != null) {
+                out.name("text").value(value.getText());
+            }
+            if (value.getImage() != null) {
+                out.name("image");
+                IMAGE_HANDLE.write(out, value.getImage());
+            }
+            out.name("isCorrect").value(value.isCorrect());
+            out.endObject();
+        }
+
+        @Override
+        public AnswerOption read(JsonReader in) throws IOException {
+            String text = null;
+            ImageHandle image = null;
+            boolean isCorrect = false;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("text".equals(name)) {
+                    text = nextStringOrNull(in);
+                } else if ("image".equals(name)) {
+                    image = IMAGE_HANDLE.read(in);
+                } else if ("isCorrect".equals(name) && in.peek() == JsonToken.BOOLEAN) {
+                    isCorrect = in.nextBoolean();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new AnswerOption(text, image, isCorrect);
+        }
+    }
+
+    private static final class QuestionAdapter extends TypeAdapter<Question> {
+        @Override
+        public void write(JsonWriter out, Question value) throws IOException {
+            out.beginObject();
+            if (value.getQuestionText() != null) {
+                out.name("questionText").value(value.getQuestionText());
+            }
+            if (value.getQuestionImage() != null) {
+                out.name("questionImage");
+                IMAGE_HANDLE.write(out, value.getQuestionImage());
+            }
+            out.name("answerOptions").beginArray();
+            for (AnswerOption answer : value.getAnswerOptions()) {
+                ANSWER_OPTION.write(out, answer);
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public Question read(JsonReader in) throws IOException {
+            String questionText = null;
+            ImageHandle questionImage = null;
+            List<AnswerOption> answerOptions = new ArrayList<>(4);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("questionText".equals(name)) {
+                    questionText = nextStringOrNull(in);
+                } else if ("questionImage".equals(name)) {
+                    questionImage = IMAGE_HANDLE.read(in);
+                } else if ("answerOptions".equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        answerOptions.add(ANSWER_OPTION.read(in));
+                    }
+                    in.endArray();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Question(questionText, questionImage, answerOptions);
+        }
+    }
+
+    private static final class QuizSetAdapter extends TypeAdapter<QuizSet> {
+        @Override
+        public void write(JsonWriter out, QuizSet value) throws IOException {
+            out.beginObject();
+            out.name("setName").value(value.getSetName());
+            out.name("questions").beginArray();
+            for (Question question : value.getQuestions()) {
+                QUESTION.write(out, question);
+            }
+            out.endArray();
+            out.endObject();
+        }
+
+        @Override
+        public QuizSet read(JsonReader in) throws IOException {
+            String setName = null;
+            List<Question> questions = new ArrayList<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if ("setName".equals(name)) {
+                    setName = nextStringOrNull(in);
+                } else if ("questions".equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        questions.add(QUESTION.read(in));
+                    }
+                    in.endArray();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new QuizSet(setName, questions);
+        }
+    }
+}
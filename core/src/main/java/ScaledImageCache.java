@@ -0,0 +1,243 @@
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Shared cache of quiz images pre-scaled to the boxes the UI displays them in.
+ * <p>
+ * Entries are keyed by the content hash of the source ({@link ImageHandle#getContentKey()})
+ * and the target box, so an image is decoded once however many questions, sets or file
+ * names refer to it. They are evicted least-recently-used once their pixel data exceeds
+ * the byte budget, but only into soft references: until the garbage collector needs the
+ * memory, an evicted image is taken back without decoding it again. Decoding and scaling
+ * always happen on the {@link ImageLoader} pool, so the Event Dispatch Thread only ever
+ * receives finished {@link BufferedImage}s. The cache is the only place pixels of quiz
+ * images are kept.
+ * </p>
+ */
+public class ScaledImageCache {
+    // Boxes the quiz screen fits question and answer images into; binary sets store images pre-scaled to them
+    static final int QUESTION_IMAGE_WIDTH = 500;
+    static final int QUESTION_IMAGE_HEIGHT = 300;
+    static final int ANSWER_IMAGE_WIDTH = 240;
+    static final int ANSWER_IMAGE_HEIGHT = 135;
+
+    /** Default budget in megabytes, overridable with -Dgeoquiz.imageCache.mb=... */
+    private static final long DEFAULT_BUDGET_MB = Long.getLong("geoquiz.imageCache.mb", 64L);
+
+    private static ScaledImageCache INSTANCE;
+
+    private final long budgetBytes;
+    private long usedBytes;
+    private final LinkedHashMap<String, BufferedImage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, EvictedImage> evicted = new HashMap<>();
+    private final ReferenceQueue<BufferedImage> collected = new ReferenceQueue<>();
+    // Requests in progress, by source path and box: the content key is only known once the source has been read
+    private final Map<String, CompletableFuture<BufferedImage>> pending = new HashMap<>();
+
+    /**
+     * @return the cache shared by all quiz screens.
+     */
+    public static synchronized ScaledImageCache getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new ScaledImageCache(DEFAULT_BUDGET_MB * 1024L * 1024L);
+        }
+        return INSTANCE;
+    }
+
+    public ScaledImageCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Schedules decoding and scaling of the image unless it is cached or in progress already.
+     *
+     * @param handle    The source image.
+     * @param maxWidth  Width of the target box.
+     * @param maxHeight Height of the target box.
+     * @return A future yielding the scaled image, or null if the source could not be loaded.
+     */
+    public synchronized CompletableFuture<BufferedImage> prefetch(final ImageHandle handle,
+                                                               final int maxWidth, final int maxHeight) {
+        String contentKey = handle.getKnownContentKey();
+        if (contentKey != null) {
+            BufferedImage cached = lookup(key(contentKey, maxWidth, maxHeight));
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        final String request = handle.getPath() + '@' + maxWidth + 'x' + maxHeight;
+        CompletableFuture<BufferedImage> future = pending.get(request);
+        if (future == null) {
+            future = CompletableFuture.supplyAsync(() -> load(handle, maxWidth, maxHeight, request),
+                    ImageLoader.executor());
+            pending.put(request, future);
+        }
+        return future;
+    }
+
+    /**
+     * Runs on the loader pool: hashes the source, which is cheap next to decoding it, and decodes
+     * and scales it only if no image with the same content is cached.
+     */
+    private BufferedImage load(ImageHandle handle, int maxWidth, int maxHeight, String request) {
+        try {
+            String contentKey = handle.getContentKey();
+            String key = contentKey != null ? key(contentKey, maxWidth, maxHeight) : null;
+            if (key != null) {
+                synchronized (this) {
+                    BufferedImage cached = lookup(key);
+                    if (cached != null) {
+                        return cached;
+                    }
+                }
+            }
+            // Decoding and scaling in one task: the subsampled source is garbage as soon as it is scaled
+            BufferedImage image = handle.decode(null, maxWidth, maxHeight);
+            BufferedImage scaled = image != null ? scaleToFit(image, maxWidth, maxHeight) : null;
+            if (key != null && scaled != null) {
+                store(key, scaled);
+            }
+            return scaled;
+        } finally {
+            synchronized (this) {
+                pending.remove(request);
+            }
+        }
+    }
+
+    /**
+     * Returns the scaled image, waiting for background scaling if it is not cached yet.
+     *
+     * @return The scaled image, or null if the source could not be loaded.
+     */
+    public BufferedImage get(ImageHandle handle, int maxWidth, int maxHeight) {
+        try {
+            return prefetch(handle, maxWidth, maxHeight).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Log.warn("Bild konnte nicht skaliert werden", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of bytes of pixel data currently held, not counting evicted images that are still
+     *         softly reachable.
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Call with the lock held.
+     *
+     * @return The cached image, taken back from the soft references if it was evicted; null if not cached.
+     */
+    private BufferedImage lookup(String key) {
+        BufferedImage image = entries.get(key);
+        if (image == null) {
+            purge();
+            EvictedImage reference = evicted.remove(key);
+            image = reference != null ? reference.get() : null;
+            if (image != null) {
+                store(key, image);
+            }
+        }
+        return image;
+    }
+
+    private synchronized void store(String key, BufferedImage image) {
+        BufferedImage previous = entries.put(key, image);
+        if (previous != null) {
+            usedBytes -= sizeOf(previous);
+        }
+        usedBytes += sizeOf(image);
+
+        // Evict least recently used entries until the budget holds again (keeping the new one)
+        Iterator<Map.Entry<String, BufferedImage>> it = entries.entrySet().iterator();
+        while (usedBytes > budgetBytes && it.hasNext()) {
+            Map.Entry<String, BufferedImage> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            usedBytes -= sizeOf(eldest.getValue());
+            evicted.put(eldest.getKey(), new EvictedImage(eldest.getKey(), eldest.getValue(), collected));
+            it.remove();
+        }
+    }
+
+    /**
+     * Forgets evicted images the garbage collector has cleared.
+     */
+    private void purge() {
+        EvictedImage reference;
+        while ((reference = (EvictedImage) collected.poll()) != null) {
+            if (evicted.get(reference.key) == reference) {
+                evicted.remove(reference.key);
+            }
+        }
+    }
+
+    private static String key(String contentKey, int maxWidth, int maxHeight) {
+        return contentKey + '@' + maxWidth + 'x' + maxHeight;
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4L;
+    }
+
+    /**
+     * Scales the image to fit into the given box while keeping its aspect ratio.
+     * Large reductions are done in several bilinear halving steps, which looks
+     * close to {@link Image#SCALE_SMOOTH} at a fraction of its cost.
+     */
+    static BufferedImage scaleToFit(Image source, int maxWidth, int maxHeight) {
+        int width = source.getWidth(null);
+        int height = source.getHeight(null);
+        double scalingFactor = Math.min((double) maxWidth / width, (double) maxHeight / height);
+        int targetWidth = Math.max(1, (int) (width * scalingFactor));
+        int targetHeight = Math.max(1, (int) (height * scalingFactor));
+
+        Image current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        BufferedImage step;
+        do {
+            if (currentWidth / 2 >= targetWidth && currentHeight / 2 >= targetHeight) {
+                currentWidth /= 2;
+                currentHeight /= 2;
+            } else {
+                currentWidth = targetWidth;
+                currentHeight = targetHeight;
+            }
+            step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g.dispose();
+            current = step;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return step;
+    }
+
+    private static final class EvictedImage extends SoftReference<BufferedImage> {
+        private final String key;
+
+        EvictedImage(String key, BufferedImage image, ReferenceQueue<BufferedImage> queue) {
+            super(image, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,633 @@
+import net.java.games.input.*;
+
+import javax.swing.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Wird benutzt zur Anbindung an die Kontroller Einheit des Spieleautomaten.
+ * <br><br>
+ *
+ * Wie man den AutomatenController ("AC") benutzt:
+ * <br>
+ * 1. Bindet das Maven-Modul "geoquiz-input" ein; es bringt "jinput" mit.<br>
+ * 2. Die nativen Bibliotheken (jinput-dx8_64, jinput-raw_64 usw.) entpackt der Build nach "natives" neben das Jar bzw. nach "input/target/natives".<br>
+ * WICHTIG: Liegen sie bei euch woanders, gebt den Ordner mit {@code -Dnet.java.games.input.librarypath=...} an (siehe {@link JInputSource}).
+ * 3. Überall in eurem Projekt, wo ihr KeyListener erstellt, holt ihr euch über die {@link AutomatenController#getInstance()} die Instanz des AC und registriert den Listener über {@link AutomatenController#addListener(KeyListener)}
+ * <br><br>
+ * Hier ein Überblick über die KeyCodes, die der AC an alle Listener weiter leitet:<br><br> *
+ *
+ * {@link KeyEvent#VK_UP}: Wenn der Joystick nach oben gedrückt wird.<br>
+ * {@link KeyEvent#VK_DOWN}: Wenn der Joystick nach unten gedrückt wird.<br>
+ * {@link KeyEvent#VK_LEFT}: Wenn der Joystick nach links gedrückt wird.<br>
+ * {@link KeyEvent#VK_RIGHT}: Wenn der Joystick nach rechts gedrückt wird.<br><br>
+ *
+ * {@link KeyEvent#VK_ENTER}: Wenn Knopf Nr. 0 (Feuerknopf) gedrückt wird; startet das Quiz bzw. bestätigt die Antwort.<br>
+ * {@link KeyEvent#VK_1}: Wenn Knopf Nr. 1 gedrückt wird.<br>
+ * {@link KeyEvent#VK_2}: Wenn Knopf Nr. 2 gedrückt wird.<br>
+ * {@link KeyEvent#VK_3}: Wenn Knopf Nr. 3 gedrückt wird.<br>
+ * {@link KeyEvent#VK_4}: Wenn Knopf Nr. 4 gedrückt wird.<br>
+ * {@link KeyEvent#VK_5}: Wenn Knopf Nr. 5 gedrückt wird.<br>
+ * <br>
+ * Andere Automaten können eine eigene Belegung in einer Datei {@value ControllerMapping#DEFAULT_FILE} hinterlegen (siehe {@link ControllerMapping}).
+ * <br><br>
+ * Die Events für den Joystick werden über {@link KeyListener#keyPressed(KeyEvent)} übermittelt. Sobald der Stick wieder in die neutral-Stellung geht, werden über
+ * {@link KeyListener#keyReleased(KeyEvent)} zwei Events für die jeweiligen Richtungen (links/rechts oder oben/unten) weitergegeben.
+ * Knöpfe lösen beim Drücken {@link KeyListener#keyPressed(KeyEvent)} und beim Loslassen {@link KeyListener#keyReleased(KeyEvent)} aus.
+ * Die Events werden wiederverwendet und dürfen von den Listenern nicht verändert oder aufbewahrt werden.
+ * <br><br>
+ * Die Listener werden standardmäßig auf dem Swing-Thread (EDT) aufgerufen: alle Events einer Abfrage-Runde gehen gesammelt mit einem
+ * einzigen {@link SwingUtilities#invokeLater} dorthin, sodass sie gefahrlos Swing-Komponenten ändern können (siehe {@link DispatchMode}).
+ * Meldet eine Achse mehrmals dieselbe Stellung, wird nur die erste weitergegeben. Listener können jederzeit und von jedem Thread aus
+ * hinzugefügt oder mit {@link #removeListener(KeyListener)} entfernt werden.
+ * <br><br>
+ * Zur Fehlersuche können die rohen Events mit {@link #startRecording(File, int)} (oder {@code -Dgeoquiz.controller.record=datei})
+ * aufgezeichnet und mit {@link #replay(ReplayController)} ohne Hardware wieder abgespielt werden.
+ * <br><br>
+ * Woher die Kontroller kommen, bestimmen die {@link InputSource Eingabequellen} (Standard: jinput, änderbar über
+ * {@code -Dgeoquiz.input=jinput,keyboard}). Ohne Kontroller läuft das Spiel ganz normal mit der Tastatur weiter.
+ * <br><br>
+ * Der AC liest die Kontroller in einem eigenen Thread mit fester Rate aus (Standard: alle {@value #DEFAULT_POLL_INTERVAL_MS} ms,
+ * änderbar über {@code -Dgeoquiz.controller.pollIntervalMs=...}). Die Kontroller einer Quelle werden nur einmal ermittelt und erst dann
+ * neu gesucht, wenn sie keinen hat oder einer abgesteckt wird; solange gar kein Kontroller da ist, schläft der Thread. Die Zeit vom Auslesen bis zur Rückkehr der Listener
+ * wird in {@link #getDispatchLatency()} gemessen; die maximale Reaktionszeit auf einen Knopfdruck ist höchstens ein
+ * Abfrage-Intervall ({@link #getPollInterval()}) plus diese Zeit.
+ */
+public class AutomatenController {
+
+    /**
+     * Legt fest, auf welchem Thread die Listener aufgerufen werden.
+     */
+    public enum DispatchMode {
+        /** Alle Events einer Abfrage-Runde werden gesammelt und mit einem einzigen {@link SwingUtilities#invokeLater} auf dem EDT zugestellt (Standard). */
+        EDT,
+        /** Die Events werden sofort auf dem Eingabe-Thread zugestellt; die Listener müssen dann selbst thread-sicher sein. */
+        INPUT_THREAD
+    }
+
+    // Copy-on-write: Änderungen kopieren das Array, das Zustellen liest es ohne Sperre und ohne Iterator
+    private volatile KeyListener[] listeners = new KeyListener[0];
+    private static AutomatenController INSTANCE;
+
+    /** Standard-Abfrageintervall in Millisekunden. */
+    public static final long DEFAULT_POLL_INTERVAL_MS = 4L;
+
+    private final long pollIntervalNanos =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("geoquiz.controller.pollIntervalMs", DEFAULT_POLL_INTERVAL_MS));
+
+    /** Stellung einer Achse, bevor ihr erstes Event gelesen wurde. */
+    private static final int AXIS_UNKNOWN = 2;
+
+    private volatile DispatchMode dispatchMode =
+            "direct".equalsIgnoreCase(System.getProperty("geoquiz.controller.dispatch")) ? DispatchMode.INPUT_THREAD : DispatchMode.EDT;
+
+    // Wird erst im Eingabe-Thread geladen, damit getInstance() schnell bleibt
+    private ControllerMapping mapping;
+    // Zuordnung und letzte Achsenstellung je Komponente; wird nur vom Eingabe-Thread benutzt
+    private final Map<Component, ComponentState> componentStates = new IdentityHashMap<>();
+    // Wird für jedes ausgelesene Event wiederverwendet
+    private Event event;
+
+    // Erst beim ersten Abspielen angelegt
+    private VirtualInputSource virtualSource;
+    private SourceState virtualState;
+    // Copy-on-write wie die Listener
+    private volatile SourceState[] sources = new SourceState[0];
+    private final Thread inputThread;
+    // Wird frei, sobald jinput geladen und die Quellen zum ersten Mal durchsucht sind
+    private final CountDownLatch firstScan = new CountDownLatch(1);
+    private volatile InputRecorder recorder;
+    // Beendete Aufzeichnungen, die der Eingabe-Thread nach seiner laufenden Runde auf die Platte schreibt
+    private final Queue<InputRecorder> stoppedRecorders = new ConcurrentLinkedQueue<>();
+
+    // Events für den EDT: der Eingabe-Thread füllt pending, der EDT tauscht es gegen das geleerte draining aus
+    private final Object batchLock = new Object();
+    private EventBatch pending = new EventBatch();
+    private EventBatch draining = new EventBatch();
+    private boolean drainScheduled;
+    private final Runnable drainTask = this::drainBatch;
+
+    // Über Metrics angelegt, damit sie mit den Messwerten der Oberfläche ausgegeben werden
+    private final LatencyHistogram dispatchLatency = Metrics.histogram("controller-dispatch");
+    private final LatencyHistogram pollInterval = Metrics.histogram("controller-poll-interval");
+    private final LatencyHistogram eventLatency = Metrics.histogram("controller-event-latency");
+
+
+    /**
+     * Bitte diese Methode benutzen, um eine Instanz des AutomatenControllers zu erhalten (eigene Instanzierung ist verboten)
+     * @return die einzige erlaubte Instanz des ACs (Singleton Patern)
+     */
+    public static synchronized AutomatenController getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new AutomatenController();
+        }
+        return INSTANCE;
+    }
+
+
+    /**
+     * Privater Konstruktor (nicht dran rumfingern!)
+     * <p>
+     * Startet nur den Eingabe-Thread; die Quellen werden erst dort nach Kontrollern durchsucht, sodass der Aufruf
+     * (auch auf dem EDT) kaum Zeit kostet.
+     * </p>
+     */
+    private AutomatenController() {
+
+        String recordPath = System.getProperty("geoquiz.controller.record");
+        if (recordPath != null) {
+            try {
+                startRecording(new File(recordPath), InputRecorder.DEFAULT_CAPACITY);
+            } catch (IOException e) {
+                Log.warn("Eingabe-Aufzeichnung kann nicht angelegt werden: {}", recordPath, e);
+            }
+        }
+
+        inputThread = new Thread(this::inputLoop, "automaten-controller-input");
+        inputThread.setDaemon(true);
+        // Eingaben sollen nicht hinter Bild-Dekodierung o. Ä. warten müssen
+        inputThread.setPriority(Thread.MAX_PRIORITY);
+        inputThread.start();
+    }
+
+    private static InputSource createSource(String name) {
+        switch (name) {
+            case "jinput":
+                return new JInputSource();
+            case "keyboard":
+                return new KeyboardInputSource();
+            case "":
+            case "none":
+                return null;
+            default:
+                Log.warn("Unbekannte Eingabequelle: {}", name);
+                return null;
+        }
+    }
+
+    /**
+     * Eingabeschleife: fragt alle Kontroller mit fester Rate ab, ohne zusätzliches Schlafen.
+     * Läuft eine Runde länger als ein Intervall, wird der Takt neu ausgerichtet statt nachzuholen.
+     * Solange keine Quelle einen Kontroller hat, schläft der Thread bis zur nächsten fälligen Suche.
+     */
+    private void inputLoop() {
+        // jinput, Tastenbelegung und Quellen erst hier laden
+        event = new Event();
+        mapping = ControllerMapping.load();
+        for (String name : System.getProperty("geoquiz.input", "jinput").split(",")) {
+            InputSource source = createSource(name.trim());
+            if (source != null) {
+                addSource(source);
+            }
+        }
+
+        long lastPoll = 0L;
+        long nextPoll = System.nanoTime();
+        while (!Thread.currentThread().isInterrupted()) {
+            closeStoppedRecorders();
+            long pollStart = System.nanoTime();
+            long idleNanos = scanSources(pollStart);
+            firstScan.countDown();
+            if (idleNanos > 0L) {
+                // Kein Kontroller: nicht abfragen, bis eine Suche fällig ist oder einer angemeldet wird
+                LockSupport.parkNanos(idleNanos);
+                lastPoll = 0L;
+                nextPoll = System.nanoTime();
+                continue;
+            }
+            if (lastPoll != 0L) {
+                pollInterval.record(pollStart - lastPoll);
+            }
+            lastPoll = pollStart;
+
+            pollControllers(pollStart);
+
+            nextPoll += pollIntervalNanos;
+            long now = System.nanoTime();
+            if (nextPoll - now <= 0) {
+                nextPoll = now;
+            } else {
+                LockSupport.parkNanos(nextPoll - now);
+            }
+        }
+    }
+
+    /**
+     * Durchsucht alle Quellen, bei denen eine Suche fällig ist.
+     *
+     * @return 0, wenn es Kontroller zum Abfragen gibt, sonst die Zeit bis zur nächsten fälligen Suche
+     */
+    private long scanSources(long now) {
+        boolean connected = false;
+        long idleNanos = Long.MAX_VALUE;
+        for (SourceState state : sources) {
+            long interval = state.source.getRescanIntervalNanos();
+            boolean due = state.controllers.length == 0 && interval != Long.MAX_VALUE && now - state.nextScanNanos >= 0;
+            if (state.scanRequested || due) {
+                state.scanRequested = false;
+                scanSource(state);
+                state.nextScanNanos = now + interval;
+            }
+            if (state.controllers.length > 0) {
+                connected = true;
+            } else if (interval != Long.MAX_VALUE) {
+                idleNanos = Math.min(idleNanos, Math.max(1L, state.nextScanNanos - now));
+            }
+        }
+        return connected ? 0L : idleNanos;
+    }
+
+    /**
+     * Ersetzt die Kontroller einer Quelle durch die jetzt gefundenen.
+     */
+    private void scanSource(SourceState state) {
+        Controller[] found;
+        try {
+            found = state.source.scanControllers();
+        } catch (RuntimeException | LinkageError e) {
+            // eine defekte Quelle darf die anderen nicht aufhalten
+            Log.warn("Fehler bei der Suche nach Kontrollern ({})", state.source.getName(), e);
+            found = new Controller[0];
+        }
+        for (Controller old : state.controllers) {
+            for (Component component : old.getComponents()) {
+                componentStates.remove(component);
+            }
+        }
+        if (!(state.source instanceof VirtualInputSource) && (found.length != state.controllers.length || !state.reported)) {
+            if (found.length == 0) {
+                Log.info("Kein Spiele-Kontroller gefunden ({})", state.source.getName());
+            } else {
+                Log.info("{} Spiele-Kontroller gefunden ({})", found.length, state.source.getName());
+            }
+            state.reported = true;
+        }
+        state.controllers = found;
+    }
+
+    /**
+     * Liest die Event-Queues aller Kontroller aus und gibt die Events an die Listener weiter.
+     *
+     * @param pollStart Zeitpunkt ({@link System#nanoTime()}) zu Beginn dieser Abfrage-Runde
+     */
+    private void pollControllers(long pollStart) {
+        for (SourceState state : sources) {
+            for (Controller controller : state.controllers) {
+                if (!controller.poll()) {
+                    // Kontroller wurde abgesteckt (oder ist fertig abgespielt): die Quelle in der nächsten Runde neu durchsuchen
+                    if (!(controller instanceof ReplayController)) {
+                        Log.info("Spiele-Kontroller getrennt: {}", controller.getName());
+                    }
+                    state.scanRequested = true;
+                    continue;
+                }
+                readEvents(controller, pollStart, state.source.hasNanoTimeEvents());
+            }
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Zeichnet die Events eines Kontrollers ggf. auf, bildet sie auf Tasten ab und stellt sie zu.
+     *
+     * @param timedEvents true, wenn die Zeitstempel der Events {@link System#nanoTime()}-Werte sind ({@link InputSource#hasNanoTimeEvents()})
+     */
+    private void readEvents(Controller controller, long pollStart, boolean timedEvents) {
+        EventQueue queue = controller.getEventQueue();
+        InputRecorder currentRecorder = recorder;
+        while (queue.getNextEvent(event)) {
+            long eventNanos = timedEvents ? event.getNanos() : 0L;
+            if (currentRecorder != null) {
+                // Mit dem eigenen Zeitpunkt, damit Reihenfolge und Abstände innerhalb einer Runde erhalten bleiben
+                currentRecorder.record(event.getComponent(), event.getValue(), timedEvents ? eventNanos : pollStart);
+            }
+            ComponentState state = stateOf(event.getComponent());
+            ControllerMapping.Binding binding = state.binding;
+            if (binding.isIgnored()) {
+                continue;
+            }
+            float value = event.getValue();
+            if (binding.isAxis()) {
+                int position = value == -1.0f ? -1 : value == 1.0f ? 1 : 0;
+                if (position == state.axisPosition) {
+                    // wiederholte Meldung derselben Stellung: nichts Neues für die Listener
+                    continue;
+                }
+                state.axisPosition = position;
+                if (position == -1) {
+                    fire(binding.getNegativePressed(), true, pollStart, eventNanos);
+                } else if (position == 1) {
+                    fire(binding.getPositivePressed(), true, pollStart, eventNanos);
+                } else {
+                    fire(binding.getNegativeReleased(), false, pollStart, eventNanos);
+                    fire(binding.getPositiveReleased(), false, pollStart, eventNanos);
+                }
+            } else if (value != 0.0f) {
+                fire(binding.getPositivePressed(), true, pollStart, eventNanos);
+            } else {
+                fire(binding.getPositiveReleased(), false, pollStart, eventNanos);
+            }
+        }
+    }
+
+    /**
+     * Liefert Zuordnung und Zustand einer Komponente; die Namen werden nur beim ersten Event einer Komponente verglichen.
+     */
+    private ComponentState stateOf(Component component) {
+        ComponentState state = componentStates.get(component);
+        if (state == null) {
+            state = new ComponentState(mapping.resolve(component.getName()));
+            componentStates.put(component, state);
+        }
+        return state;
+    }
+
+    /**
+     * Stellt ein Event sofort zu oder merkt es für den EDT vor, je nach {@link #getDispatchMode()}.
+     */
+    private void fire(KeyEvent keyEvent, boolean pressed, long pollStart, long eventNanos) {
+        if (dispatchMode == DispatchMode.INPUT_THREAD) {
+            dispatch(keyEvent, pressed);
+            dispatchLatency.recordSince(pollStart);
+            if (eventNanos != 0L) {
+                eventLatency.recordSince(eventNanos);
+            }
+        } else {
+            synchronized (batchLock) {
+                pending.add(keyEvent, pressed, pollStart, eventNanos);
+            }
+        }
+    }
+
+    /**
+     * Übergibt die in dieser Runde gesammelten Events mit einem einzigen Aufruf an den EDT.
+     * Ist die vorige Übergabe noch nicht abgearbeitet, werden die Events einfach mit ihr zugestellt.
+     */
+    private void scheduleDrain() {
+        synchronized (batchLock) {
+            if (pending.size == 0 || drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        SwingUtilities.invokeLater(drainTask);
+    }
+
+    /**
+     * Läuft auf dem EDT: stellt alle bisher gesammelten Events in ihrer Reihenfolge zu.
+     */
+    private void drainBatch() {
+        EventBatch batch;
+        synchronized (batchLock) {
+            batch = pending;
+            pending = draining;
+            draining = batch;
+            drainScheduled = false;
+        }
+        for (int i = 0; i < batch.size; i++) {
+            dispatch(batch.events[i], batch.pressed[i]);
+            if (batch.eventNanos[i] != 0L) {
+                eventLatency.recordSince(batch.eventNanos[i]);
+            }
+        }
+        dispatchLatency.recordSince(batch.firstPollStart);
+        batch.size = 0;
+    }
+
+    private void dispatch(KeyEvent keyEvent, boolean pressed) {
+        for (KeyListener listener : listeners) {
+            try {
+                if (pressed) {
+                    listener.keyPressed(keyEvent);
+                } else {
+                    listener.keyReleased(keyEvent);
+                }
+            } catch (RuntimeException e) {
+                // ein fehlerhafter Listener darf weder die anderen noch den Eingabe-Thread aufhalten
+                Log.warn("Fehler in einem Kontroller-Listener", e);
+            }
+        }
+    }
+
+    /**
+     * @return Zeit vom Beginn einer Abfrage-Runde bis alle Listener ihre Events verarbeitet haben
+     * (beim Zustellen über den EDT einschließlich der Wartezeit in dessen Queue)
+     */
+    public LatencyHistogram getDispatchLatency() {
+        return dispatchLatency;
+    }
+
+    /**
+     * @return Zeit vom Zeitstempel eines Events bis alle Listener es verarbeitet haben (nur Quellen mit
+     * {@link InputSource#hasNanoTimeEvents()}, d. h. abgespielte Events und die Tastatur),
+     * also Abfrage-Intervall, Zustellung und Reaktion der Listener zusammen
+     */
+    public LatencyHistogram getEventLatency() {
+        return eventLatency;
+    }
+
+    /**
+     * @return tatsächliche Abstände zwischen zwei Abfrage-Runden (Soll: das konfigurierte Intervall)
+     */
+    public LatencyHistogram getPollInterval() {
+        return pollInterval;
+    }
+
+    /**
+     * @return Id des Eingabe-Threads, der die Kontroller abfragt und (bei {@link DispatchMode#INPUT_THREAD}) die Listener aufruft,
+     * z. B. um mit {@link java.lang.management.ThreadMXBean} seine Allokationen zu messen
+     */
+    public long getInputThreadId() {
+        return inputThread.getId();
+    }
+
+    /**
+     * Benutzt diese Methode, um die Listener eures Projekts am AC zu registrieren
+     * @param listener, der bei Eingaben vom SC resgieren soll.
+     */
+    public synchronized void addListener(KeyListener listener) {
+        // Kopie statt Iterator: das Auslesen der Kontroller soll keine Objekte erzeugen
+        KeyListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Wartet, bis der Eingabe-Thread jinput geladen und zum ersten Mal nach Kontrollern gesucht hat.
+     *
+     * @param timeout höchstens so lange warten
+     * @return false, wenn die Suche in dieser Zeit nicht fertig wurde
+     */
+    public boolean awaitFirstScan(long timeout, TimeUnit unit) throws InterruptedException {
+        return firstScan.await(timeout, unit);
+    }
+
+    /**
+     * Entfernt einen mit {@link #addListener(KeyListener)} registrierten Listener.
+     * @param listener der nicht mehr benachrichtigt werden soll
+     */
+    public synchronized void removeListener(KeyListener listener) {
+        KeyListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                KeyListener[] updated = new KeyListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Spielt die Events eines virtuellen Kontrollers ab, als wären sie von einem echten gekommen.
+     * Nach dem letzten Event wird er automatisch wieder entfernt.
+     */
+    public void replay(ReplayController replay) {
+        SourceState state;
+        synchronized (this) {
+            if (virtualSource == null) {
+                virtualSource = new VirtualInputSource();
+                addSource(virtualSource);
+                virtualState = sources[sources.length - 1];
+            }
+            virtualSource.add(replay);
+            state = virtualState;
+        }
+        state.scanRequested = true;
+        LockSupport.unpark(inputThread);
+    }
+
+    /**
+     * Fügt eine weitere Eingabequelle hinzu; sie wird sofort (im Eingabe-Thread) nach Kontrollern durchsucht.
+     */
+    public synchronized void addSource(InputSource source) {
+        SourceState[] updated = Arrays.copyOf(sources, sources.length + 1);
+        updated[sources.length] = new SourceState(source);
+        sources = updated;
+        LockSupport.unpark(inputThread);
+    }
+
+    /**
+     * Beginnt, alle rohen Kontroller-Events in eine Ringdatei aufzuzeichnen (auch beim Start über
+     * {@code -Dgeoquiz.controller.record=datei}). Eine laufende Aufzeichnung wird vorher beendet.
+     *
+     * @param file     Zieldatei; wird überschrieben
+     * @param capacity Anzahl Events, die höchstens aufbewahrt werden
+     */
+    public synchronized void startRecording(File file, int capacity) throws IOException {
+        stopRecording();
+        recorder = new InputRecorder(file, capacity);
+        Log.info("Eingabe-Aufzeichnung in {}", file);
+    }
+
+    /**
+     * Beendet die Aufzeichnung. Auf die Platte geschrieben wird sie vom Eingabe-Thread, sobald er die laufende
+     * Abfrage-Runde beendet hat, damit auch deren letzte Events noch in der Datei stehen.
+     */
+    public synchronized void stopRecording() {
+        InputRecorder current = recorder;
+        if (current == null) {
+            return;
+        }
+        recorder = null;
+        if (inputThread == null || !inputThread.isAlive() || Thread.currentThread() == inputThread) {
+            // Niemand schreibt mehr hinein
+            current.close();
+        } else {
+            stoppedRecorders.add(current);
+            LockSupport.unpark(inputThread);
+        }
+    }
+
+    /**
+     * Schreibt die beendeten Aufzeichnungen auf die Platte; nur vom Eingabe-Thread zwischen zwei Runden aufrufen.
+     */
+    private void closeStoppedRecorders() {
+        InputRecorder stopped;
+        while ((stopped = stoppedRecorders.poll()) != null) {
+            stopped.close();
+            Log.info("Eingabe-Aufzeichnung beendet: {} Events in {}", stopped.getRecordCount(), stopped.getFile());
+        }
+    }
+
+    /**
+     * @return auf welchem Thread die Listener aufgerufen werden
+     */
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    /**
+     * Legt fest, auf welchem Thread die Listener aufgerufen werden (Standard: {@link DispatchMode#EDT},
+     * änderbar über {@code -Dgeoquiz.controller.dispatch=direct}).
+     */
+    public void setDispatchMode(DispatchMode dispatchMode) {
+        this.dispatchMode = dispatchMode;
+    }
+
+    /**
+     * Eine Eingabequelle und ihre zuletzt gefundenen Kontroller.
+     */
+    private static final class SourceState {
+        final InputSource source;
+        // nur vom Eingabe-Thread benutzt
+        Controller[] controllers = new Controller[0];
+        long nextScanNanos;
+        boolean reported;
+        volatile boolean scanRequested = true;
+
+        SourceState(InputSource source) {
+            this.source = source;
+        }
+    }
+
+    /**
+     * Zuordnung und letzte gemeldete Stellung einer Kontroller-Komponente.
+     */
+    private static final class ComponentState {
+        final ControllerMapping.Binding binding;
+        int axisPosition = AXIS_UNKNOWN;
+
+        ComponentState(ControllerMapping.Binding binding) {
+            this.binding = binding;
+        }
+    }
+
+    /**
+     * Die für den EDT gesammelten Events; wächst bei Bedarf und wird danach wiederverwendet.
+     */
+    private static final class EventBatch {
+        KeyEvent[] events = new KeyEvent[32];
+        boolean[] pressed = new boolean[32];
+        long[] eventNanos = new long[32];
+        int size;
+        long firstPollStart;
+
+        void add(KeyEvent keyEvent, boolean isPressed, long pollStart, long nanos) {
+            if (size == events.length) {
+                events = Arrays.copyOf(events, size * 2);
+                pressed = Arrays.copyOf(pressed, size * 2);
+                eventNanos = Arrays.copyOf(eventNanos, size * 2);
+            }
+            if (size == 0) {
+                firstPollStart = pollStart;
+            }
+            events[size] = keyEvent;
+            pressed[size] = isPressed;
+            eventNanos[size] = nanos;
+            size++;
+        }
+    }
+}
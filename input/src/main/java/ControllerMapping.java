@@ -0,0 +1,209 @@
+import javax.swing.*;
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Legt fest, welche Komponente (Achse oder Knopf) eines Spiele-Kontrollers welche Taste auslöst.
+ * <p>
+ * Die Zuordnung wird einmal beim Start aus einer Properties-Datei gelesen (Standard: {@value #DEFAULT_FILE} im
+ * Arbeitsverzeichnis, änderbar über {@code -Dgeoquiz.controller.mapping=...}). Fehlt die Datei, gilt die Belegung
+ * des Spieleautomaten. Aufbau der Datei:
+ * </p>
+ * <pre>
+ * # Achse: Taste bei -1, Taste bei +1 (in der Mitte werden beide losgelassen)
+ * axis.X-Achse = VK_LEFT, VK_RIGHT
+ * axis.Y-Achse = VK_UP, VK_DOWN
+ * # Knopf: gedrückt = keyPressed, losgelassen = keyReleased
+ * button.Taste\ 0 = VK_ENTER
+ * button.Taste\ 1 = VK_1
+ * # Komponenten, deren Name einen dieser Texte enthält, werden ignoriert
+ * ignore = Z-
+ * </pre>
+ * <p>
+ * In der Belegung des Spieleautomaten ist Knopf 0 der Feuerknopf und löst ENTER aus: Damit startet das Hauptmenü
+ * das ausgewählte Quiz ("startQuiz") und das Quiz-Panel bestätigt die markierte Antwort ("confirmSelection"). Die
+ * Knöpfe 1-5 lösen die Ziffern 1-5 aus und wählen im Hauptmenü die ersten fünf Quiz-Sets. So kommt ein Spieler
+ * nur mit Joystick und Knöpfen durch das ganze Spiel.
+ * </p>
+ * <p>
+ * Zu jeder Zuordnung werden die {@link KeyEvent}s schon hier erzeugt, damit beim Auslesen der Kontroller keine
+ * Objekte entstehen. Listener dürfen diese Events deshalb weder verändern noch aufbewahren; ihr Zeitstempel
+ * ({@link KeyEvent#getWhen()}) ist immer 0.
+ * </p>
+ */
+public class ControllerMapping {
+
+    /** Standard-Dateiname der Tastenbelegung im Arbeitsverzeichnis. */
+    public static final String DEFAULT_FILE = "controller.properties";
+
+    /** Gemeinsame Quelle aller erzeugten Events. */
+    private static final java.awt.Component EVENT_SOURCE = new JLabel();
+
+    /** Zuordnung für Komponenten, die keine Taste auslösen. */
+    public static final Binding IGNORE = new Binding(null, null, null, null);
+
+    /**
+     * Die vorberechneten Events einer Komponente.
+     */
+    public static final class Binding {
+        private final KeyEvent negativePressed;
+        private final KeyEvent positivePressed;
+        private final KeyEvent negativeReleased;
+        private final KeyEvent positiveReleased;
+
+        private Binding(KeyEvent negativePressed, KeyEvent positivePressed,
+                        KeyEvent negativeReleased, KeyEvent positiveReleased) {
+            this.negativePressed = negativePressed;
+            this.positivePressed = positivePressed;
+            this.negativeReleased = negativeReleased;
+            this.positiveReleased = positiveReleased;
+        }
+
+        static Binding axis(int negativeKey, int positiveKey) {
+            return new Binding(pressed(negativeKey), pressed(positiveKey), released(negativeKey), released(positiveKey));
+        }
+
+        static Binding button(int key) {
+            return new Binding(null, pressed(key), null, released(key));
+        }
+
+        public boolean isAxis() {
+            return negativePressed != null;
+        }
+
+        public boolean isIgnored() {
+            return this == IGNORE;
+        }
+
+        /**
+         * @return Event beim Drücken (Knopf) bzw. bei Auslenkung nach +1 (Achse)
+         */
+        public KeyEvent getPositivePressed() { return positivePressed; }
+        public KeyEvent getPositiveReleased() { return positiveReleased; }
+
+        /**
+         * @return Event bei Auslenkung nach -1, oder null bei einem Knopf
+         */
+        public KeyEvent getNegativePressed() { return negativePressed; }
+        public KeyEvent getNegativeReleased() { return negativeReleased; }
+    }
+
+    private final Map<String, Binding> bindings;
+    private final String[] ignoredFragments;
+
+    private ControllerMapping(Map<String, Binding> bindings, String[] ignoredFragments) {
+        this.bindings = bindings;
+        this.ignoredFragments = ignoredFragments;
+    }
+
+    /**
+     * Lädt die eingestellte Tastenbelegung, oder die des Spieleautomaten, falls keine Datei vorhanden oder lesbar ist.
+     */
+    public static ControllerMapping load() {
+        File file = new File(System.getProperty("geoquiz.controller.mapping", DEFAULT_FILE));
+        if (file.isFile()) {
+            try (InputStream in = new FileInputStream(file)) {
+                Properties properties = new Properties();
+                properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+                Log.info("Tastenbelegung geladen aus {}", file);
+                return fromProperties(properties);
+            } catch (IOException | IllegalArgumentException e) {
+                Log.warn("Tastenbelegung ungültig, verwende Standardbelegung: {}", file, e);
+            }
+        }
+        return fromProperties(defaultProperties());
+    }
+
+    /**
+     * Erzeugt eine Tastenbelegung aus Properties im oben beschriebenen Format.
+     *
+     * @throws IllegalArgumentException bei einem unbekannten Tastennamen
+     */
+    public static ControllerMapping fromProperties(Properties properties) {
+        Map<String, Binding> bindings = new HashMap<>();
+        List<String> ignored = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            if (key.startsWith("axis.")) {
+                String[] keys = value.split("\\s*,\\s*");
+                if (keys.length != 2) {
+                    throw new IllegalArgumentException("Achse braucht zwei Tasten: " + key + " = " + value);
+                }
+                bindings.put(key.substring(5), Binding.axis(keyCode(keys[0]), keyCode(keys[1])));
+            } else if (key.startsWith("button.")) {
+                bindings.put(key.substring(7), Binding.button(keyCode(value)));
+            } else if (key.equals("ignore")) {
+                for (String fragment : value.split("\\s*,\\s*")) {
+                    if (!fragment.isEmpty()) {
+                        ignored.add(fragment);
+                    }
+                }
+            }
+        }
+        return new ControllerMapping(bindings, ignored.toArray(new String[0]));
+    }
+
+    /**
+     * Sucht die Zuordnung einer Komponente. Dies vergleicht Namen und sollte daher nur einmal je Komponente
+     * aufgerufen werden; das Ergebnis kann zwischengespeichert werden.
+     *
+     * @param componentName Name der jinput-Komponente
+     * @return die Zuordnung, oder {@link #IGNORE}
+     */
+    public Binding resolve(String componentName) {
+        for (String fragment : ignoredFragments) {
+            if (componentName.contains(fragment)) {
+                return IGNORE;
+            }
+        }
+        Binding binding = bindings.get(componentName);
+        return binding != null ? binding : IGNORE;
+    }
+
+    /**
+     * Belegung des Spieleautomaten: Joystick auf die Pfeiltasten, Knopf 0 auf ENTER, die Knöpfe 1-5 auf 1-5.
+     * Der Kontroller meldet Events auf einer nicht vorhandenen Z-Achse, die ignoriert werden.
+     */
+    private static Properties defaultProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("axis.X-Achse", "VK_LEFT, VK_RIGHT");
+        properties.setProperty("axis.Y-Achse", "VK_UP, VK_DOWN");
+        properties.setProperty("button.Taste 0", "VK_ENTER");
+        for (int i = 1; i <= 5; i++) {
+            properties.setProperty("button.Taste " + i, "VK_" + i);
+        }
+        properties.setProperty("ignore", "Z-");
+        return properties;
+    }
+
+    private static int keyCode(String name) {
+        try {
+            Field field = KeyEvent.class.getField(name);
+            if (field.getType() == int.class && name.startsWith("VK_")) {
+                return field.getInt(null);
+            }
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            // unten gemeldet
+        }
+        throw new IllegalArgumentException("Unbekannte Taste: " + name);
+    }
+
+    private static KeyEvent pressed(int keyCode) {
+        return new KeyEvent(EVENT_SOURCE, KeyEvent.KEY_PRESSED, 0L, 0, keyCode, KeyEvent.CHAR_UNDEFINED);
+    }
+
+    private static KeyEvent released(int keyCode) {
+        return new KeyEvent(EVENT_SOURCE, KeyEvent.KEY_RELEASED, 0L, 0, keyCode, KeyEvent.CHAR_UNDEFINED);
+    }
+}
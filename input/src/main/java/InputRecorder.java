@@ -0,0 +1,157 @@
+import net.java.games.input.Component;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Zeichnet die rohen Kontroller-Events (vor der Tastenbelegung) in eine Ringdatei auf.
+ * <p>
+ * Die Datei hat eine feste Größe und wird über ein Memory-Mapping beschrieben; ist sie voll, werden die ältesten
+ * Events überschrieben. So bleibt immer das Ende einer Sitzung erhalten, und das Aufzeichnen erzeugt auf dem
+ * Eingabe-Thread keine Objekte. Abgespielt werden Aufzeichnungen mit {@link ReplayController#fromRecording(File)}.
+ * </p>
+ * Aufbau (big-endian):
+ * <pre>
+ * Kopf       MAGIC, VERSION, Kapazität, Anzahl Namen (je int), Anzahl geschriebener Events, Startzeit in ms (je long)
+ * Namen      MAX_NAMES x NAME_SIZE Bytes: Länge (1 Byte) + UTF-8 Name der Komponente
+ * Events     Kapazität x (long ns seit Start, float Wert, int Index des Namens)
+ * </pre>
+ * Event Nr. {@code n} steht im Slot {@code n % Kapazität}.
+ */
+public class InputRecorder implements Closeable {
+    /** "GQIR" */
+    static final int MAGIC = 0x47514952;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int MAX_NAMES = 256;
+    static final int NAME_SIZE = 32;
+    static final int RECORD_SIZE = 16;
+    static final int NAMES_OFFSET = HEADER_SIZE;
+    static final int RECORDS_OFFSET = NAMES_OFFSET + MAX_NAMES * NAME_SIZE;
+
+    /** Standard-Kapazität: 65536 Events (1 MB), beim Spielen mehrere Stunden. */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final long startNanos = System.nanoTime();
+    // Nach Namen, nicht nach Komponente: jinput legt bei jeder neuen Suche neue Komponenten an, die sonst samt
+    // ihrem Kontroller bis zum Ende der Aufzeichnung erreichbar blieben. Ein Eintrag je Name, wie in der Namenstabelle.
+    private final Map<String, Integer> nameIndices = new HashMap<>();
+    private long recordCount;
+
+    /**
+     * Legt die Datei an (eine vorhandene wird überschrieben).
+     *
+     * @param file     Zieldatei
+     * @param capacity Anzahl Events, die die Datei höchstens fasst
+     */
+    public InputRecorder(File file, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Kapazität muss positiv sein: " + capacity);
+        }
+        this.file = file;
+        this.capacity = capacity;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, RECORDS_OFFSET + (long) capacity * RECORD_SIZE);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, capacity);
+        buffer.putInt(12, 0);
+        buffer.putLong(16, 0L);
+        buffer.putLong(24, System.currentTimeMillis());
+    }
+
+    /**
+     * Zeichnet ein Event auf. Nur vom Eingabe-Thread aufrufen.
+     *
+     * @param component   Komponente, von der das Event stammt
+     * @param value       gemeldeter Wert
+     * @param nowNanos    Zeitpunkt des Events ({@link System#nanoTime()}), oder des Auslesens, wenn die Quelle keinen liefert
+     */
+    public void record(Component component, float value, long nowNanos) {
+        String name = component.getName();
+        Integer nameIndex = nameIndices.get(name);
+        if (nameIndex == null) {
+            nameIndex = addName(name);
+            nameIndices.put(name, nameIndex);
+        }
+        if (nameIndex < 0) {
+            return;
+        }
+        int slot = RECORDS_OFFSET + (int) (recordCount % capacity) * RECORD_SIZE;
+        buffer.putLong(slot, nowNanos - startNanos);
+        buffer.putFloat(slot + 8, value);
+        buffer.putInt(slot + 12, nameIndex);
+        recordCount++;
+        // erst nach dem Event selbst, damit ein Leser nie einen halb geschriebenen Slot sieht
+        buffer.putLong(16, recordCount);
+    }
+
+    /**
+     * @return Anzahl bisher aufgezeichneter Events (einschließlich überschriebener)
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Schreibt die Aufzeichnung auf die Platte. Erst aufrufen, wenn {@link #record} nicht mehr aufgerufen wird;
+     * der AutomatenController tut das daher im Eingabe-Thread.
+     */
+    @Override
+    public void close() {
+        buffer.force();
+    }
+
+    /**
+     * Trägt einen Namen in die Namenstabelle ein.
+     *
+     * @return Index des Namens, oder -1 wenn die Tabelle voll ist (Events dieser Komponente werden dann nicht aufgezeichnet)
+     */
+    private int addName(String name) {
+        int count = buffer.getInt(12);
+        for (int i = 0; i < count; i++) {
+            if (name.equals(readName(buffer, i))) {
+                return i;
+            }
+        }
+        if (count == MAX_NAMES) {
+            Log.warn("Zu viele Kontroller-Komponenten für die Aufzeichnung: {}", name);
+            return -1;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, NAME_SIZE - 1);
+        int offset = NAMES_OFFSET + count * NAME_SIZE;
+        buffer.put(offset, (byte) length);
+        for (int i = 0; i < length; i++) {
+            buffer.put(offset + 1 + i, bytes[i]);
+        }
+        buffer.putInt(12, count + 1);
+        return count;
+    }
+
+    static String readName(ByteBuffer buffer, int index) {
+        int offset = NAMES_OFFSET + index * NAME_SIZE;
+        byte[] bytes = new byte[buffer.get(offset) & 0xFF];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(offset + 1 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,46 @@
+import net.java.games.input.Controller;
+
+/**
+ * Eine Quelle von Spiele-Kontrollern für den {@link AutomatenController}.
+ * <p>
+ * Jede Quelle liefert jinput-{@link Controller}, die der AutomatenController in seinem Eingabe-Thread abfragt und
+ * über die {@link ControllerMapping Tastenbelegung} in Tasten übersetzt. Mitgeliefert werden:
+ * </p>
+ * <ul>
+ *     <li>{@link JInputSource}: echte Joysticks und Gamepads über jinput</li>
+ *     <li>{@link KeyboardInputSource}: die Tastatur spielt den Kontroller des Automaten nach</li>
+ *     <li>{@link VirtualInputSource}: abgespielte Aufzeichnungen und erfundene Eingaben ({@link ReplayController})</li>
+ * </ul>
+ * Welche Quellen benutzt werden, legt {@code -Dgeoquiz.input=jinput,keyboard} fest (Standard: {@code jinput});
+ * die virtuelle Quelle ist immer dabei.
+ */
+public interface InputSource {
+
+    /**
+     * @return Name der Quelle für Meldungen, z. B. "jinput"
+     */
+    String getName();
+
+    /**
+     * Sucht die Kontroller dieser Quelle. Wird nur vom Eingabe-Thread aufgerufen: zu Beginn, in Abständen von
+     * {@link #getRescanIntervalNanos()} solange die Quelle keinen Kontroller hat, und sofort, nachdem einer ihrer
+     * Kontroller beim Abfragen {@code false} geliefert hat (abgesteckt oder fertig). Darf etwas dauern.
+     *
+     * @return alle derzeit verfügbaren Kontroller; leer, wenn keiner da ist
+     */
+    Controller[] scanControllers();
+
+    /**
+     * @return Abstand zwischen zwei Suchen, solange die Quelle keinen Kontroller hat
+     */
+    long getRescanIntervalNanos();
+
+    /**
+     * @return true, wenn die Zeitstempel der Events ({@link net.java.games.input.Event#getNanos()}) ihrer Kontroller
+     * {@link System#nanoTime()}-Werte sind; dann werden sie aufgezeichnet und für {@link AutomatenController#getEventLatency()}
+     * benutzt, sonst gilt der Beginn der Abfrage-Runde
+     */
+    default boolean hasNanoTimeEvents() {
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+import net.java.games.input.Controller;
+import net.java.games.input.ControllerEnvironment;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Findet echte Spiele-Kontroller über jinput.
+ * <p>
+ * Die nativen Bibliotheken werden im Ordner {@value #NATIVES_DIR} neben dem Jar (bzw. dem Klassenordner) dieser
+ * Klasse gesucht, also in {@code lib/natives} der Distribution und in {@code input/target/natives} beim Start aus
+ * der IDE; beide füllt der Maven-Build. {@code -Dnet.java.games.input.librarypath=...} gibt einen anderen Ordner an.
+ * Fehlen sie für das laufende System, findet die Quelle einfach keinen Kontroller.
+ * </p>
+ */
+public class JInputSource implements InputSource {
+
+    private static final String NATIVES_DIR = "natives";
+
+    private static final long RESCAN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private boolean firstScan = true;
+
+    @Override
+    public String getName() {
+        return "jinput";
+    }
+
+    /**
+     * Ermittelt die angeschlossenen Kontroller. jinput merkt sich die Kontroller seiner Standard-Umgebung für immer;
+     * um neu eingesteckte Geräte zu finden, wird daher bei jeder weiteren Suche eine frische Umgebung erzeugt.
+     */
+    @Override
+    public Controller[] scanControllers() {
+        ControllerEnvironment environment;
+        if (firstScan) {
+            //  dem System beibringen, wo die DLLs sind (falls nicht schon vorgegeben):
+            if (System.getProperty("net.java.games.input.librarypath") == null) {
+                System.setProperty("net.java.games.input.librarypath", defaultLibraryPath().getPath());
+            }
+            environment = ControllerEnvironment.getDefaultEnvironment();
+            firstScan = false;
+            // Fehlende native Bibliotheken wurden jetzt gemeldet; nicht bei jeder weiteren Suche erneut
+            Logger.getLogger(ControllerEnvironment.class.getName()).setLevel(Level.WARNING);
+        } else {
+            environment = createFreshEnvironment();
+        }
+        return environment != null ? environment.getControllers() : new Controller[0];
+    }
+
+    @Override
+    public long getRescanIntervalNanos() {
+        return RESCAN_INTERVAL_NANOS;
+    }
+
+    /**
+     * @return Der Ordner {@value #NATIVES_DIR} neben dem Jar oder Klassenordner, aus dem diese Klasse geladen wurde.
+     */
+    private static File defaultLibraryPath() {
+        try {
+            File location = new File(JInputSource.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            return new File(location.getParentFile(), NATIVES_DIR);
+        } catch (URISyntaxException | RuntimeException e) {
+            return new File(NATIVES_DIR);
+        }
+    }
+
+    private static ControllerEnvironment createFreshEnvironment() {
+        try {
+            Constructor<?> constructor = Class.forName("net.java.games.input.DefaultControllerEnvironment").getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return (ControllerEnvironment) constructor.newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            Log.warn("jinput-Umgebung kann nicht neu angelegt werden", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+import net.java.games.input.AbstractComponent;
+import net.java.games.input.AbstractController;
+import net.java.games.input.Component;
+import net.java.games.input.Controller;
+import net.java.games.input.Event;
+import net.java.games.input.Rumbler;
+
+import java.awt.KeyEventDispatcher;
+import java.awt.KeyboardFocusManager;
+import java.awt.event.KeyEvent;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Spielt mit der Tastatur den Kontroller des Spieleautomaten nach, z. B. zum Testen ohne Automat.
+ * <p>
+ * Die Pfeiltasten bewegen den "Joystick" (Komponenten "X-Achse" und "Y-Achse"), die Tasten 0-5 drücken die
+ * Knöpfe "Taste 0" (Feuerknopf, also ENTER) bis "Taste 5". Diese Tasten werden abgefangen und kommen nur noch über den AutomatenController
+ * (und damit über dessen Tastenbelegung) bei der Anwendung an; alle anderen Tasten bleiben unverändert.
+ * </p>
+ */
+public class KeyboardInputSource implements InputSource {
+
+    private KeyboardController controller;
+
+    @Override
+    public String getName() {
+        return "Tastatur";
+    }
+
+    @Override
+    public synchronized Controller[] scanControllers() {
+        if (controller == null) {
+            controller = new KeyboardController();
+            KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(controller);
+        }
+        return new Controller[]{controller};
+    }
+
+    @Override
+    public long getRescanIntervalNanos() {
+        // Die Tastatur wird nie abgesteckt
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public boolean hasNanoTimeEvents() {
+        // Zeitpunkt des Tastendrucks auf dem EDT
+        return true;
+    }
+
+    private static final class KeyboardController extends AbstractController implements KeyEventDispatcher {
+        private static final AbstractComponent X_AXIS = new KeyComponent("X-Achse");
+        private static final AbstractComponent Y_AXIS = new KeyComponent("Y-Achse");
+        private static final AbstractComponent[] BUTTONS = {
+                new KeyComponent("Taste 0"), new KeyComponent("Taste 1"), new KeyComponent("Taste 2"),
+                new KeyComponent("Taste 3"), new KeyComponent("Taste 4"), new KeyComponent("Taste 5")
+        };
+
+        // Vom EDT gefüllt, vom Eingabe-Thread geleert
+        private final Queue<KeyInput> inputs = new ConcurrentLinkedQueue<>();
+
+        KeyboardController() {
+            super("Tastatur", allComponents(), new Controller[0], new Rumbler[0]);
+        }
+
+        private static Component[] allComponents() {
+            Component[] components = new Component[2 + BUTTONS.length];
+            components[0] = X_AXIS;
+            components[1] = Y_AXIS;
+            System.arraycopy(BUTTONS, 0, components, 2, BUTTONS.length);
+            return components;
+        }
+
+        @Override
+        public Type getType() {
+            return Type.KEYBOARD;
+        }
+
+        @Override
+        public boolean dispatchKeyEvent(KeyEvent e) {
+            boolean pressed = e.getID() == KeyEvent.KEY_PRESSED;
+            if (!pressed && e.getID() != KeyEvent.KEY_RELEASED) {
+                return false;
+            }
+            int keyCode = e.getKeyCode();
+            if (keyCode == KeyEvent.VK_LEFT || keyCode == KeyEvent.VK_RIGHT) {
+                inputs.add(new KeyInput(X_AXIS, pressed ? (keyCode == KeyEvent.VK_LEFT ? -1.0f : 1.0f) : 0.0f));
+            } else if (keyCode == KeyEvent.VK_UP || keyCode == KeyEvent.VK_DOWN) {
+                inputs.add(new KeyInput(Y_AXIS, pressed ? (keyCode == KeyEvent.VK_UP ? -1.0f : 1.0f) : 0.0f));
+            } else if (keyCode >= KeyEvent.VK_0 && keyCode < KeyEvent.VK_0 + BUTTONS.length) {
+                inputs.add(new KeyInput(BUTTONS[keyCode - KeyEvent.VK_0], pressed ? 1.0f : 0.0f));
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        protected boolean getNextDeviceEvent(Event event) {
+            KeyInput input = inputs.poll();
+            if (input == null) {
+                return false;
+            }
+            event.set(input.component, input.value, input.nanos);
+            return true;
+        }
+    }
+
+    private static final class KeyInput {
+        final Component component;
+        final float value;
+        final long nanos = System.nanoTime();
+
+        KeyInput(Component component, float value) {
+            this.component = component;
+            this.value = value;
+        }
+    }
+
+    private static final class KeyComponent extends AbstractComponent {
+        KeyComponent(String name) {
+            super(name, Identifier.Axis.UNKNOWN);
+        }
+
+        @Override
+        protected float poll() {
+            return 0.0f;
+        }
+
+        @Override
+        public boolean isRelative() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+import net.java.games.input.AbstractComponent;
+import net.java.games.input.AbstractController;
+import net.java.games.input.Component;
+import net.java.games.input.Controller;
+import net.java.games.input.Event;
+import net.java.games.input.Rumbler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ein virtueller Kontroller, der aufgezeichnete oder erfundene Events abspielt.
+ * <p>
+ * Er wird mit {@link AutomatenController#replay(ReplayController)} bei der {@link VirtualInputSource} angemeldet und läuft dann durch dieselbe
+ * Abfrage, Tastenbelegung und Zustellung wie ein echter Kontroller, nur ohne Hardware. Die Zeitpunkte der
+ * Events zählen ab der ersten Abfrage; mit {@link Builder#asFastAsPossible()} werden sie ignoriert und die
+ * Events so schnell wie möglich abgespielt (z. B. für Tests der Tastenbelegung).
+ * </p>
+ * Die Zeitstempel der abgespielten Events ({@link Event#getNanos()}) sind {@link System#nanoTime()}-Werte;
+ * der AutomatenController misst damit die Zeit vom Event bis zur Reaktion der Listener
+ * ({@link AutomatenController#getEventLatency()}).
+ */
+public class ReplayController extends AbstractController {
+
+    /**
+     * jinput verwirft Events, die nicht mehr in seine Queue passen; daher höchstens so viele je Abfrage.
+     */
+    private static final int MAX_EVENTS_PER_POLL = 16;
+
+    private final long[] offsets;
+    private final float[] values;
+    private final Component[] eventComponents;
+    private final boolean realTime;
+    private long startNanos;
+    private int next;
+    private int releasedThisPoll;
+
+    private ReplayController(String name, Component[] components, long[] offsets, float[] values,
+                             Component[] eventComponents, boolean realTime) {
+        super(name, components, new Controller[0], new Rumbler[0]);
+        this.offsets = offsets;
+        this.values = values;
+        this.eventComponents = eventComponents;
+        this.realTime = realTime;
+    }
+
+    /**
+     * Liest eine mit {@link InputRecorder} erstellte Aufzeichnung; bei einer übergelaufenen Ringdatei
+     * beginnt sie mit dem ältesten noch vorhandenen Event.
+     *
+     * @throws IOException wenn die Datei nicht gelesen werden kann oder keine Aufzeichnung ist
+     */
+    public static ReplayController fromRecording(File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < InputRecorder.RECORDS_OFFSET || buffer.getInt(0) != InputRecorder.MAGIC) {
+            throw new IOException("Keine Eingabe-Aufzeichnung: " + file);
+        }
+        if (buffer.getInt(4) != InputRecorder.VERSION) {
+            throw new IOException("Nicht unterstützte Version der Eingabe-Aufzeichnung: " + buffer.getInt(4));
+        }
+        int capacity = buffer.getInt(8);
+        int nameCount = buffer.getInt(12);
+        long recordCount = buffer.getLong(16);
+        if (InputRecorder.RECORDS_OFFSET + (long) capacity * InputRecorder.RECORD_SIZE > buffer.capacity()) {
+            throw new IOException("Eingabe-Aufzeichnung ist abgeschnitten: " + file);
+        }
+        String[] names = new String[nameCount];
+        for (int i = 0; i < nameCount; i++) {
+            names[i] = InputRecorder.readName(buffer, i);
+        }
+
+        Builder builder = new Builder(file.getName());
+        long first = Math.max(0L, recordCount - capacity);
+        long firstOffset = -1L;
+        long lastOffset = 0L;
+        for (long n = first; n < recordCount; n++) {
+            int slot = InputRecorder.RECORDS_OFFSET + (int) (n % capacity) * InputRecorder.RECORD_SIZE;
+            long offset = buffer.getLong(slot);
+            if (firstOffset < 0) {
+                firstOffset = offset;
+            }
+            // Die Events stehen in der Reihenfolge des Auslesens; eine andere Quelle derselben Runde kann einen etwas
+            // früheren Zeitstempel haben, der dann auf den des vorigen Events angehoben wird
+            offset = Math.max(offset - firstOffset, lastOffset);
+            lastOffset = offset;
+            int nameIndex = buffer.getInt(slot + 12);
+            if (nameIndex < 0 || nameIndex >= nameCount) {
+                throw new IOException("Ungültiges Event Nr. " + n + " in " + file);
+            }
+            builder.addNanos(offset, names[nameIndex], buffer.getFloat(slot + 8));
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return true, wenn alle Events abgespielt wurden
+     */
+    public boolean isFinished() {
+        return next >= offsets.length;
+    }
+
+    /**
+     * Setzt die Wiedergabe an den Anfang zurück, sodass dieselbe Folge erneut mit
+     * {@link AutomatenController#replay(ReplayController)} abgespielt werden kann, ohne sie neu zu erstellen.
+     * Erst aufrufen, wenn der Kontroller fertig abgespielt und bei einer folgenden Suche entfernt wurde.
+     */
+    public synchronized void rewind() {
+        next = 0;
+        startNanos = 0L;
+        releasedThisPoll = 0;
+    }
+
+    /**
+     * Liest die fälligen Events ein. Nach dem letzten Event meldet sich der Kontroller als getrennt ({@code false}).
+     */
+    @Override
+    public synchronized boolean poll() {
+        return !isFinished() && super.poll();
+    }
+
+    @Override
+    public Type getType() {
+        return Type.STICK;
+    }
+
+    @Override
+    protected void pollDevice() {
+        if (startNanos == 0L) {
+            startNanos = System.nanoTime();
+        }
+        releasedThisPoll = 0;
+    }
+
+    @Override
+    protected boolean getNextDeviceEvent(Event event) {
+        if (next >= offsets.length || releasedThisPoll >= MAX_EVENTS_PER_POLL) {
+            return false;
+        }
+        long due = startNanos + offsets[next];
+        long now = System.nanoTime();
+        if (realTime && due - now > 0) {
+            return false;
+        }
+        event.set(eventComponents[next], values[next], realTime ? due : now);
+        next++;
+        releasedThisPoll++;
+        return true;
+    }
+
+    /**
+     * Stellt eine Folge von Events zusammen, z. B. {@code new Builder("Test").add(0, "Taste 0", 1f).add(50, "Taste 0", 0f).build()}.
+     */
+    public static class Builder {
+        private final String name;
+        private final Map<String, Component> components = new LinkedHashMap<>();
+        private long[] offsets = new long[64];
+        private float[] values = new float[64];
+        private Component[] eventComponents = new Component[64];
+        private int count;
+        private boolean realTime = true;
+
+        public Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Fügt ein Event hinzu.
+         *
+         * @param offsetMillis  Zeitpunkt in ms nach dem Start der Wiedergabe; nicht kleiner als der des vorigen Events
+         * @param componentName Name der Komponente, wie ihn der echte Kontroller meldet (z. B. "X-Achse")
+         * @param value         Wert, z. B. -1, 0 oder 1 für eine Achse, 1 oder 0 für einen Knopf
+         */
+        public Builder add(long offsetMillis, String componentName, float value) {
+            return addNanos(offsetMillis * 1_000_000L, componentName, value);
+        }
+
+        Builder addNanos(long offsetNanos, String componentName, float value) {
+            if (count > 0 && offsetNanos < offsets[count - 1]) {
+                throw new IllegalArgumentException("Events müssen zeitlich geordnet sein");
+            }
+            Component component = components.get(componentName);
+            if (component == null) {
+                component = new ReplayComponent(componentName);
+                components.put(componentName, component);
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                values = Arrays.copyOf(values, count * 2);
+                eventComponents = Arrays.copyOf(eventComponents, count * 2);
+            }
+            offsets[count] = offsetNanos;
+            values[count] = value;
+            eventComponents[count] = component;
+            count++;
+            return this;
+        }
+
+        /**
+         * Spielt die Events ohne Wartezeiten ab, so schnell es die Abfrage-Rate erlaubt.
+         */
+        public Builder asFastAsPossible() {
+            realTime = false;
+            return this;
+        }
+
+        public ReplayController build() {
+            return new ReplayController(name, components.values().toArray(new Component[0]),
+                    Arrays.copyOf(offsets, count), Arrays.copyOf(values, count), Arrays.copyOf(eventComponents, count), realTime);
+        }
+    }
+
+    private static final class ReplayComponent extends AbstractComponent {
+        ReplayComponent(String name) {
+            super(name, Identifier.Axis.UNKNOWN);
+        }
+
+        @Override
+        protected float poll() {
+            return 0.0f;
+        }
+
+        @Override
+        public boolean isRelative() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+import net.java.games.input.Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hält die angemeldeten {@link ReplayController}. Ein fertig abgespielter Kontroller meldet sich beim Abfragen
+ * als getrennt und wird bei der folgenden Suche entfernt.
+ */
+public class VirtualInputSource implements InputSource {
+
+    private final List<ReplayController> replays = new ArrayList<>();
+
+    @Override
+    public String getName() {
+        return "virtuell";
+    }
+
+    /**
+     * Meldet einen Kontroller an; er wird bei der nächsten Suche gefunden.
+     */
+    public synchronized void add(ReplayController replay) {
+        replays.add(replay);
+    }
+
+    @Override
+    public synchronized Controller[] scanControllers() {
+        replays.removeIf(ReplayController::isFinished);
+        return replays.toArray(new Controller[0]);
+    }
+
+    @Override
+    public boolean hasNanoTimeEvents() {
+        return true;
+    }
+
+    @Override
+    public long getRescanIntervalNanos() {
+        // Neue Kontroller melden sich über den AutomatenController an, der dann sofort sucht
+        return Long.MAX_VALUE;
+    }
+}
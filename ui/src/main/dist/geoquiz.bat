@@ -0,0 +1,33 @@
+@echo off
+rem Startet GeoQuiz auf dem Automaten (Windows). Aufruf: geoquiz.bat [--create-cds]
+rem
+rem Die JVM-Optionen sind dieselben wie in geoquiz.sh, dort sind sie erklaert. Eigene Optionen
+rem (z. B. -Dgeoquiz.metrics=true) kommen in die Umgebungsvariable GEOQUIZ_OPTS.
+rem
+rem Der Build kann das CDS-Archiv mitliefern (Maven-Profil cds). Fehlt es, entsteht es beim ersten normal beendeten
+rem Spiel oder gezielt mit --create-cds. Anders als geoquiz.sh prueft dieses Skript nicht, ob es noch zu den Jars
+rem passt: nach einem Update der Jars oder des JDK (Java 13 bis 18) --create-cds aufrufen. Ein unpassendes Archiv
+rem ignoriert die JVM, ab Java 19 erneuert sie es selbst.
+
+setlocal
+cd /d "%~dp0"
+
+set JAVA=java
+if defined JAVA_HOME set JAVA="%JAVA_HOME%\bin\java"
+
+set CDS_ARCHIVE=geoquiz.jsa
+set JVM_OPTS=-XX:+IgnoreUnrecognizedVMOptions -XX:TieredStopAtLevel=1 -XX:+UseG1GC -XX:MaxGCPauseMillis=10 -Xms256m
+
+if "%~1"=="--create-cds" (
+    if exist %CDS_ARCHIVE% del %CDS_ARCHIVE%
+    %JAVA% %JVM_OPTS% -XX:ArchiveClassesAtExit=%CDS_ARCHIVE% -Dgeoquiz.exitAfterStartup=true %GEOQUIZ_OPTS% -jar geoquiz.jar
+    goto :eof
+)
+
+if exist %CDS_ARCHIVE% (
+    set CDS_OPTS=-Xshare:auto -XX:SharedArchiveFile=%CDS_ARCHIVE% -XX:+AutoCreateSharedArchive
+) else (
+    set CDS_OPTS=-XX:ArchiveClassesAtExit=%CDS_ARCHIVE%
+)
+
+%JAVA% %JVM_OPTS% %CDS_OPTS% %GEOQUIZ_OPTS% -jar geoquiz.jar %*
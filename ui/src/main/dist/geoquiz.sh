@@ -0,0 +1,54 @@
+#!/bin/sh
+# Startet GeoQuiz auf dem Automaten (Linux). Aufruf: ./geoquiz.sh [--create-cds]
+#
+# JVM-Optionen für einen schnellen Start auf schwacher Hardware:
+#   -XX:TieredStopAtLevel=1        nur der C1-Compiler; weniger Rechenzeit für den JIT beim Start
+#   -XX:+UseG1GC, MaxGCPauseMillis kurze GC-Pausen statt des Parallel-GC (Standard unter Java 8)
+#   -Xms256m                       kein Wachsen des Heaps mit Full GCs, während die ersten Bilder laden
+#   geoquiz.jsa                    AppCDS-Archiv der Klassen bis zum Ende des Starts (Java 13+, sonst ignoriert)
+# Eigene Optionen (z. B. -Dgeoquiz.metrics=true oder -Dgeoquiz.startup.report=true) kommen in die
+# Umgebungsvariable GEOQUIZ_OPTS.
+#
+# Der Build kann das CDS-Archiv mitliefern (Maven-Profil cds). Fehlt es, entsteht es beim ersten normal beendeten
+# Spiel oder gezielt mit --create-cds, das das Spiel startet und nach dem Start wieder beendet. Passen die Jars
+# nicht mehr dazu, wird es neu erzeugt; nach einem Update des JDK (Java 13 bis 18) --create-cds aufrufen.
+
+cd "$(dirname "$0")" || exit 1
+
+if [ -n "$JAVA_HOME" ]; then
+    JAVA="$JAVA_HOME/bin/java"
+else
+    JAVA=java
+fi
+
+CDS_ARCHIVE=geoquiz.jsa
+JVM_OPTS="-XX:+IgnoreUnrecognizedVMOptions -XX:TieredStopAtLevel=1 -XX:+UseG1GC -XX:MaxGCPauseMillis=10 -Xms256m"
+
+# Die JVM benutzt ein Archiv nur mit genau den Jars (Größe und Änderungszeit), aus denen es erzeugt wurde. Der
+# Build gibt allen Dateien dasselbe Datum, daher zählt auch der Inhalt; die Zeit ändert sich z. B. durch Kopieren
+# ohne -p oder Entpacken in einer anderen Zeitzone.
+jar_signature() {
+    for jar in geoquiz.jar lib/*.jar; do
+        echo "$jar $(cksum < "$jar") $(stat -c %Y "$jar" 2>/dev/null || stat -f %m "$jar")"
+    done
+}
+
+if [ "$1" = "--create-cds" ]; then
+    rm -f "$CDS_ARCHIVE"
+    jar_signature > "$CDS_ARCHIVE.sum"
+    exec "$JAVA" $JVM_OPTS -XX:ArchiveClassesAtExit="$CDS_ARCHIVE" -Dgeoquiz.exitAfterStartup=true $GEOQUIZ_OPTS -jar geoquiz.jar
+fi
+
+SIGNATURE=$(jar_signature)
+if [ -f "$CDS_ARCHIVE" ] && [ "$(cat "$CDS_ARCHIVE.sum" 2>/dev/null)" != "$SIGNATURE" ]; then
+    rm -f "$CDS_ARCHIVE"
+fi
+if [ -f "$CDS_ARCHIVE" ]; then
+    # Ab Java 19 erneuert die JVM ein unbrauchbares Archiv (z. B. nach einem JDK-Update) selbst
+    CDS_OPTS="-Xshare:auto -XX:SharedArchiveFile=$CDS_ARCHIVE -XX:+AutoCreateSharedArchive"
+else
+    echo "$SIGNATURE" > "$CDS_ARCHIVE.sum"
+    CDS_OPTS="-XX:ArchiveClassesAtExit=$CDS_ARCHIVE"
+fi
+
+exec "$JAVA" $JVM_OPTS $CDS_OPTS $GEOQUIZ_OPTS -jar geoquiz.jar "$@"
@@ -0,0 +1,217 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hauptklasse des Quiz-Spiels.
+ * <p>
+ * Diese Klasse startet das Spiel, indem sie ein Vollbild‑Fenster erstellt
+ * und das Hauptmenü initialisiert.
+ * </p>
+ */
+public class Main {
+    // Trainingslauf für das CDS-Archiv (geoquiz.sh --create-cds): beenden, sobald der Start abgeschlossen ist
+    private static final boolean EXIT_AFTER_STARTUP = Boolean.getBoolean("geoquiz.exitAfterStartup");
+
+    public static void main(String[] args) {
+        StartupProfile.mark("main");
+        // Messungen der Oberfläche (nur mit -Dgeoquiz.metrics=true), vor dem ersten Event auf dem EDT
+        UiMetrics.installIfEnabled();
+
+        // Das Verzeichnis wird erst durchsucht, wenn das Menü zu sehen ist (siehe startDeferredInitialization)
+        final QuizSetRegistry registry = new QuizSetRegistry("data/quizsets");
+
+        // Swing-Komponenten nur auf dem EDT anlegen
+        SwingUtilities.invokeLater(() -> createWindow(registry));
+    }
+
+    /**
+     * Erstellt das Vollbild-Fenster mit dem Hauptmenü. Alles, was für das erste Bild nicht nötig ist, startet
+     * erst, wenn es gezeichnet wurde.
+     */
+    private static void createWindow(final QuizSetRegistry registry) {
+        // CardLayout zur Verwaltung der Panels (z. B. Hauptmenü und Quiz)
+        CardLayout cardLayout = new CardLayout();
+        final JPanel container = new JPanel(cardLayout) {
+            private boolean painted;
+
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                if (!painted) {
+                    painted = true;
+                    StartupProfile.mark(StartupProfile.FIRST_FRAME);
+                    startDeferredInitialization(registry, getRootPane() != null ? getRootPane() : this);
+                }
+            }
+        };
+
+        // Erstelle und füge das Hauptmenü-Panel hinzu; die Quiz-Sets kommen nach, sobald sie gefunden sind
+        MainMenuPanel mainMenuPanel = new MainMenuPanel(cardLayout, container, registry);
+        container.add(mainMenuPanel, "MainMenu");
+
+        if (GraphicsEnvironment.isHeadless()) {
+            // Ohne Bildschirm (CDS-Trainingslauf im Build) das Menü nur einmal in ein Bild zeichnen
+            paintOffscreen(container);
+            return;
+        }
+
+        // Erstelle ein JFrame im Vollbildmodus
+        JFrame frame = new JFrame("Quiz Spiel");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        // Setze den Frame auf maximalen Bildschirm (Vollbild)
+        frame.setExtendedState(JFrame.MAXIMIZED_BOTH);
+
+        // Füge den Container dem Frame hinzu und zeige das Fenster an
+        frame.add(container);
+        frame.setVisible(true);
+        StartupProfile.mark("window");
+    }
+
+    /**
+     * Startet nach dem ersten Bild einen Hintergrund-Thread, der die Spiele-Kontroller anbindet, die Quiz-Sets
+     * sucht und die Bilder ihrer ersten Fragen vorbereitet, damit der erste Spielstart nicht darauf warten muss.
+     *
+     * @param forwardTarget Empfänger der Kontroller-Tasten, wenn keine Komponente den Fokus hat
+     */
+    private static void startDeferredInitialization(final QuizSetRegistry registry, final JComponent forwardTarget) {
+        Thread thread = new Thread(() -> {
+            // Die Suche nach Geräten läuft im Eingabe-Thread des Controllers, parallel zu den nächsten Schritten
+            AutomatenController controller = AutomatenController.getInstance();
+            controller.addListener(createControllerForwarder(forwardTarget));
+
+            // Das Menü zeigt die Sets über seinen Change-Listener an
+            registry.start();
+            StartupProfile.mark("quiz-sets");
+
+            List<CompletableFuture<PreparedQuestion>> firstQuestions = prepareFirstQuestions(registry);
+            try {
+                controller.awaitFirstScan(10, TimeUnit.SECONDS);
+                StartupProfile.mark("controller");
+                for (CompletableFuture<PreparedQuestion> question : firstQuestions) {
+                    question.get();
+                }
+                StartupProfile.mark("images");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Log.warn("Erste Frage konnte nicht vorbereitet werden", e);
+            }
+
+            StartupProfile.finish();
+            if (EXIT_AFTER_STARTUP || GraphicsEnvironment.isHeadless()) {
+                System.exit(0);
+            }
+            loadQuestionBanks(registry);
+        }, "startup-init");
+        // Kein Daemon: ohne Fenster (Trainingslauf) hielte sonst nichts die JVM bis zum Ende des Starts am Leben
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        thread.start();
+    }
+
+    /**
+     * Lädt die Sets, die aus dem Cache gespielt werden, und bereitet jeweils ihre erste Frage vor; deren Bilder
+     * liegen danach skaliert im {@link ScaledImageCache}. Gestreamte Sets werden dafür nicht geladen.
+     */
+    private static List<CompletableFuture<PreparedQuestion>> prepareFirstQuestions(QuizSetRegistry registry) {
+        List<CompletableFuture<PreparedQuestion>> prepared = new ArrayList<>();
+        for (QuizSetRegistry.Entry entry : registry.getEntries()) {
+            if (registry.isStreamed(entry)) {
+                continue;
+            }
+            QuizSet quizSet = registry.getQuizSet(entry);
+            if (quizSet != null && !quizSet.getQuestions().isEmpty()) {
+                prepared.add(PreparedQuestion.prepare(quizSet.getQuestions().get(0), null, ScaledImageCache.getInstance()));
+            }
+        }
+        return prepared;
+    }
+
+    /**
+     * Lädt die großen, sonst gestreamten Sets als kompakte Fragen-Bank in den Cache der Registry. Spiele daraus
+     * starten ohne Parsen; bis eine Bank fertig ist, wird ihr Set weiter gestreamt.
+     */
+    private static void loadQuestionBanks(QuizSetRegistry registry) {
+        for (QuizSetRegistry.Entry entry : registry.getEntries()) {
+            if (registry.isStreamed(entry)) {
+                long start = System.nanoTime();
+                QuizSet quizSet = registry.getQuizSet(entry);
+                if (quizSet != null) {
+                    Log.info("Fragen-Bank in {} ms geladen: {} ({} Fragen)", (System.nanoTime() - start) / 1_000_000L,
+                            entry.getSetName(), quizSet.getQuestions().size());
+                }
+            }
+        }
+    }
+
+    /**
+     * Zeichnet die Komponente einmal in Full-HD in ein Bild; ohne Fenster gibt es sonst kein Layout und kein Bild.
+     */
+    private static void paintOffscreen(JComponent component) {
+        component.setSize(1920, 1080);
+        layoutTree(component);
+        BufferedImage image = new BufferedImage(component.getWidth(), component.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        component.paint(g);
+        g.dispose();
+    }
+
+    private static void layoutTree(Component component) {
+        if (component instanceof Container) {
+            ((Container) component).doLayout();
+            for (Component child : ((Container) component).getComponents()) {
+                layoutTree(child);
+            }
+        }
+    }
+
+    /**
+     * Reicht die Tasten des Spieleautomaten an das Fenster weiter, als wären sie auf der Tastatur gedrückt worden,
+     * sodass die Key Bindings der Panels auch mit Joystick und Knöpfen funktionieren.
+     * Paketsichtbar für die Prüfung der Joystick-Navigation im Bench-Modul.
+     *
+     * @param fallbackTarget Empfänger, wenn keine Komponente den Fokus hat (die Root Pane des Fensters)
+     */
+    static KeyListener createControllerForwarder(JComponent fallbackTarget) {
+        return new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                forward(fallbackTarget, e.getID(), e.getKeyCode());
+                if (e.getKeyCode() >= KeyEvent.VK_0 && e.getKeyCode() <= KeyEvent.VK_9) {
+                    // Die Auswahl im Hauptmenü reagiert auf getippte Zeichen
+                    forward(fallbackTarget, KeyEvent.KEY_TYPED, e.getKeyCode());
+                }
+            }
+
+            @Override
+            public void keyReleased(KeyEvent e) {
+                forward(fallbackTarget, e.getID(), e.getKeyCode());
+            }
+        };
+    }
+
+    private static void forward(JComponent fallbackTarget, int id, int keyCode) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> forward(fallbackTarget, id, keyCode));
+            return;
+        }
+        KeyboardFocusManager focusManager = KeyboardFocusManager.getCurrentKeyboardFocusManager();
+        Component target = focusManager.getFocusOwner();
+        if (target == null) {
+            target = fallbackTarget;
+        }
+        KeyEvent keyEvent = id == KeyEvent.KEY_TYPED
+                ? new KeyEvent(target, id, System.currentTimeMillis(), 0, KeyEvent.VK_UNDEFINED, (char) keyCode)
+                : new KeyEvent(target, id, System.currentTimeMillis(), 0, keyCode, KeyEvent.CHAR_UNDEFINED);
+        // redispatchEvent umgeht die KeyEventDispatcher, z. B. den der KeyboardInputSource
+        focusManager.redispatchEvent(target, keyEvent);
+    }
+}
@@ -1,34 +1,50 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.List;
 
 /**
  * Hauptmenü-Oberfläche für das Quiz-Spiel.
  * <p>
  * Dieses Panel ermöglicht die Auswahl eines Quiz-Sets und den Spielstart.
  * Die gesamte Oberfläche wird ausschließlich über ein GridBagLayout angeordnet.
- * Der Benutzer kann per Tastatur das Quiz-Set auswählen (Taste 1 für "GeoQuiz Set 1", Taste 2 für "GeoQuiz Set 2")
+ * Angeboten werden alle Quiz-Sets, die die {@link QuizSetRegistry} gefunden hat; kommen im laufenden
+ * Betrieb Sets hinzu, wird die Auswahl automatisch aktualisiert.
+ * Der Benutzer kann per Tastatur das Quiz-Set auswählen (Tasten 1 bis 9 für die ersten neun Sets)
  * und mit ENTER das Quiz starten.
  * Unten wird zudem ein Label mit den verfügbaren Steuerungstasten angezeigt.
  * </p>
  */
 public class MainMenuPanel extends JPanel {
-    private String selectedSetName = null;
+    // Anzahl der Quiz-Sets, die über die Zifferntasten 1-9 auswählbar sind
+    private static final int MAX_KEY_SELECTABLE_SETS = 9;
+
+    // Laden des Sets, und vom Start bis die erste Frage gezeichnet ist (siehe UiMetrics)
+    private static final LatencyHistogram QUIZ_START_LOAD = Metrics.histogram("quiz-start-load");
+    private static final LatencyHistogram QUIZ_START_FRAME = Metrics.histogram("quiz-start-frame");
+
+    private final QuizSetRegistry registry;
+    private QuizSetRegistry.Entry selectedSet = null;
     private JLabel titleLabel;
+    private JPanel selectionPanel;
     private JButton startButton;
 
     private CardLayout cardLayout;
     private JPanel container;
+    // Einziges Quiz-Panel, das beim ersten Start angelegt und danach für jedes Spiel wiederverwendet wird
+    private QuizPanel quizPanel;
 
     /**
      * Konstruktor für das Hauptmenü-Panel.
      *
      * @param cardLayout Layout-Manager für den Container.
      * @param container  Der Container, in dem die Panels angezeigt werden.
+     * @param registry   Liefert die verfügbaren Quiz-Sets.
      */
-    public MainMenuPanel(CardLayout cardLayout, JPanel container) {
+    public MainMenuPanel(CardLayout cardLayout, JPanel container, QuizSetRegistry registry) {
         this.cardLayout = cardLayout;
         this.container = container;
+        this.registry = registry;
 
         // Hintergrundfarbe setzen und GridBagLayout verwenden
         setBackground(AppColors.BACKGROUND);
@@ -47,14 +63,9 @@ public class MainMenuPanel extends JPanel {
         add(titleLabel, gbc);
 
         // Zeile 1: Panel für Auswahl-Buttons
-        JPanel selectionPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        selectionPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
         selectionPanel.setBackground(AppColors.BACKGROUND);
-        JButton set1Button = new JButton("GeoQuiz Set 1");
-        JButton set2Button = new JButton("GeoQuiz Set 2");
-        styleButton(set1Button, AppColors.PRIMARY, AppColors.PRIMARY_CONTENT);
-        styleButton(set2Button, AppColors.PRIMARY, AppColors.PRIMARY_CONTENT);
-        selectionPanel.add(set1Button);
-        selectionPanel.add(set2Button);
+        rebuildSetButtons();
         gbc.gridy = 1;
         gbc.gridwidth = 2;
         add(selectionPanel, gbc);
@@ -86,8 +97,7 @@ public class MainMenuPanel extends JPanel {
                 "<br>- Controller:<br>" +
                 "  • Pfeiltasten: Navigation<br>" +
                 "<br>- Tastatur:<br>" +
-                "  • Taste 1: GeoQuiz Set 1 auswählen<br>" +
-                "  • Taste 2: GeoQuiz Set 2 auswählen<br>" +
+                "  • Tasten 1-9: Quiz-Set auswählen<br>" +
                 "  • ENTER: Quiz starten<br>" +
                 "<br>- Zusätzlich:<br>" +
                 "  • Maus: Klickbare Buttons zur Steuerung</html>");
@@ -100,19 +110,6 @@ public class MainMenuPanel extends JPanel {
         gbc.gridwidth = 2;
         add(manualLabel, gbc);
 
-        // ActionListener für die Auswahl-Buttons (Maus-Klick)
-        set1Button.addActionListener(new ActionListener() {
-            public void actionPerformed(ActionEvent e) {
-                selectQuizSet("GeoQuiz Set 1");
-            }
-        });
-
-        set2Button.addActionListener(new ActionListener() {
-            public void actionPerformed(ActionEvent e) {
-                selectQuizSet("GeoQuiz Set 2");
-            }
-        });
-
         // ActionListener für den Start-Button
         startButton.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e) {
@@ -123,6 +120,17 @@ public class MainMenuPanel extends JPanel {
         // Tastatur-Bindings für Quiz-Set Auswahl und Start
         setupKeyBindings();
 
+        // Neue, geänderte oder gelöschte Quiz-Sets in der Auswahl nachziehen
+        registry.addChangeListener(new Runnable() {
+            public void run() {
+                SwingUtilities.invokeLater(new Runnable() {
+                    public void run() {
+                        rebuildSetButtons();
+                    }
+                });
+            }
+        });
+
         // Stelle sicher, dass das Panel fokussierbar ist
         setFocusable(true);
         requestFocusInWindow();
@@ -135,23 +143,21 @@ public class MainMenuPanel extends JPanel {
         InputMap im = getInputMap(WHEN_IN_FOCUSED_WINDOW);
         ActionMap am = getActionMap();
 
-        // Taste '1' wählt GeoQuiz Set 1
-        im.put(KeyStroke.getKeyStroke('1'), "selectSet1");
-        am.put("selectSet1", new AbstractAction() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                selectQuizSet("GeoQuiz Set 1");
-            }
-        });
-
-        // Taste '2' wählt GeoQuiz Set 2
-        im.put(KeyStroke.getKeyStroke('2'), "selectSet2");
-        am.put("selectSet2", new AbstractAction() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                selectQuizSet("GeoQuiz Set 2");
-            }
-        });
+        // Tasten '1' bis '9' wählen das entsprechende Quiz-Set
+        for (int i = 0; i < MAX_KEY_SELECTABLE_SETS; i++) {
+            final int index = i;
+            String actionName = "selectSet" + (i + 1);
+            im.put(KeyStroke.getKeyStroke((char) ('1' + i)), actionName);
+            am.put(actionName, new AbstractAction() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    List<QuizSetRegistry.Entry> entries = registry.getEntries();
+                    if (index < entries.size()) {
+                        selectQuizSet(entries.get(index));
+                    }
+                }
+            });
+        }
 
         // ENTER-Taste startet das Quiz, wenn ein Set ausgewählt wurde
         im.put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "startQuiz");
@@ -163,68 +169,86 @@ public class MainMenuPanel extends JPanel {
         });
     }
 
+    /**
+     * Erzeugt für jedes verfügbare Quiz-Set einen Auswahl-Button.
+     */
+    private void rebuildSetButtons() {
+        selectionPanel.removeAll();
+        for (final QuizSetRegistry.Entry entry : registry.getEntries()) {
+            JButton setButton = new JButton(entry.getSetName());
+            styleButton(setButton, AppColors.PRIMARY, AppColors.PRIMARY_CONTENT);
+            // ActionListener für den Auswahl-Button (Maus-Klick)
+            setButton.addActionListener(new ActionListener() {
+                public void actionPerformed(ActionEvent e) {
+                    selectQuizSet(entry);
+                }
+            });
+            selectionPanel.add(setButton);
+        }
+        selectionPanel.revalidate();
+        selectionPanel.repaint();
+    }
+
     /**
      * Setzt die Auswahl des Quiz-Sets und aktualisiert die Anzeige.
      *
-     * @param setName Der Name des ausgewählten Quiz-Sets.
+     * @param entry Das ausgewählte Quiz-Set.
      */
-    private void selectQuizSet(String setName) {
-        this.selectedSetName = setName;
-        titleLabel.setText(setName + " ausgewählt");
+    void selectQuizSet(QuizSetRegistry.Entry entry) {
+        this.selectedSet = entry;
+        titleLabel.setText(entry.getSetName() + " ausgewählt");
         startButton.setVisible(true);
-        System.out.println("Ausgewähltes Quiz-Set: " + setName);
+        Log.debug("Ausgewähltes Quiz-Set: {}", entry.getSetName());
     }
 
     /**
-     * Startet das Quiz, indem es das QuizSet lädt und ein QuizPanel erstellt.
+     * Startet das Quiz, indem es das QuizSet lädt und das QuizPanel mit einem neuen Spiel zurücksetzt.
+     * Paketsichtbar (wie {@link #selectQuizSet}), damit der Soak-Test im Bench-Modul Spiele ohne Tastatur starten kann.
      */
-    private void startQuiz() {
-        if (selectedSetName == null) {
-            System.out.println("Kein Quiz-Set ausgewählt.");
+    void startQuiz() {
+        if (selectedSet == null) {
+            Log.debug("Kein Quiz-Set ausgewählt.");
             return;
         }
-        String filePath = "";
-        if (selectedSetName.equals("GeoQuiz Set 1")) {
-            filePath = "data/quizsets/geoquiz_set1.json";
-        } else if (selectedSetName.equals("GeoQuiz Set 2")) {
-            filePath = "data/quizsets/geoquiz_set2.json";
-        }
-        QuizSet quizSet = QuizSetLoader.loadQuizSet(filePath);
-        if (quizSet == null) {
-            System.out.println("Fehler beim Laden des Quiz-Sets von: " + filePath);
+        long start = System.nanoTime();
+        // Bereits geladene Sets kommen aus dem Cache der Registry
+        QuizGame quizGame = registry.createGame(selectedSet);
+        QUIZ_START_LOAD.recordSince(start);
+        if (quizGame == null) {
+            Log.warn("Fehler beim Laden des Quiz-Sets von: {}", selectedSet.getPath());
             return;
         }
-        QuizPanel quizPanel = new QuizPanel(new QuizGame(quizSet), new QuizFinishedListener() {
+        if (quizPanel == null) {
+            createQuizPanel();
+        }
+        quizPanel.startGame(quizGame);
+        cardLayout.show(container, "QuizPanel");
+        quizPanel.requestFocusInWindow();
+        UiMetrics.recordAfterPaint(QUIZ_START_FRAME, start);
+    }
+
+    /**
+     * @return das Quiz-Panel, oder null vor dem ersten Start
+     */
+    QuizPanel getQuizPanel() {
+        return quizPanel;
+    }
+
+    /**
+     * Legt das wiederverwendbare Quiz-Panel an und fügt es dem Container hinzu.
+     */
+    private void createQuizPanel() {
+        quizPanel = new QuizPanel(new QuizFinishedListener() {
             public void quizFinished() {
                 cardLayout.show(container, "MainMenu");
             }
         });
 
-        // Optional: Füge einen KeyListener zum QuizPanel hinzu, um dort auch die Tastatursteuerung zu aktivieren.
-        quizPanel.addKeyListener(new KeyAdapter() {
-            @Override
-            public void keyPressed(KeyEvent e) {
-                int keyCode = e.getKeyCode();
-                int selectedIndex = -1;
-                if (keyCode == KeyEvent.VK_LEFT || keyCode == KeyEvent.VK_A) {
-                    selectedIndex = 0;
-                } else if (keyCode == KeyEvent.VK_RIGHT || keyCode == KeyEvent.VK_D) {
-                    selectedIndex = 1;
-                } else if (keyCode == KeyEvent.VK_UP || keyCode == KeyEvent.VK_W) {
-                    selectedIndex = 2;
-                } else if (keyCode == KeyEvent.VK_DOWN || keyCode == KeyEvent.VK_S) {
-                    selectedIndex = 3;
-                }
-                if (selectedIndex != -1) {
-                    quizPanel.selectAnswer(selectedIndex);
-                }
-            }
-        });
+        // Keine eigenen Tasten-Listener: Pfeiltasten und ENTER (auch vom Kontroller) laufen über die Key Bindings
+        // des Quiz-Panels; ein Listener hier würde vor ihnen antworten, statt die Markierung zu verschieben.
         quizPanel.setFocusable(true);
-        quizPanel.requestFocusInWindow();
 
         container.add(quizPanel, "QuizPanel");
-        cardLayout.show(container, "QuizPanel");
     }
 
     /**
@@ -0,0 +1,101 @@
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A question that is ready to be shown: the order of its answers fixed and all
+ * images decoded and scaled to their display size.
+ */
+public class PreparedQuestion {
+    private final Question question;
+    private final List<AnswerOption> answerOptions;
+    // Index in answerOptions of the answer at each place, or null for file order
+    private final int[] answerOrder;
+    private final int correctIndex;
+    private final ImageIcon questionIcon;
+    private final List<ImageIcon> answerIcons;
+
+    private PreparedQuestion(Question question, int[] answerOrder, int correctIndex,
+                             ImageIcon questionIcon, List<ImageIcon> answerIcons) {
+        this.question = question;
+        this.answerOptions = question.getAnswerOptions();
+        this.answerOrder = answerOrder;
+        this.correctIndex = correctIndex;
+        this.questionIcon = questionIcon;
+        this.answerIcons = answerIcons;
+    }
+
+    /**
+     * Prepares the images in the background; the answers are shown in the given order.
+     * Nothing in here blocks, so it is safe to call from any thread. An image that fails
+     * to load is logged and shown as no image, so the future itself does not fail.
+     *
+     * @param question    The question to prepare.
+     * @param answerOrder The index of the answer for each place, e.g. from {@link QuizGame#answerOrder},
+     *                    or null to show the answers in file order. It is kept, not copied.
+     * @param cache       The cache providing the scaled images.
+     * @return A future completing once all images are ready.
+     */
+    public static CompletableFuture<PreparedQuestion> prepare(final Question question, final int[] answerOrder,
+                                                              ScaledImageCache cache) {
+        List<AnswerOption> answers = question.getAnswerOptions();
+        // Found once here instead of on the EDT for every answer
+        int correct = -1;
+        for (int i = 0; i < answers.size() && correct == -1; i++) {
+            if (answers.get(answerOrder != null ? answerOrder[i] : i).isCorrect()) {
+                correct = i;
+            }
+        }
+        final int correctIndex = correct;
+
+        final CompletableFuture<BufferedImage> questionImage = question.getQuestionImage() != null
+                ? orNoImage(cache.prefetch(question.getQuestionImage(), ScaledImageCache.QUESTION_IMAGE_WIDTH, ScaledImageCache.QUESTION_IMAGE_HEIGHT),
+                        question.getQuestionImage())
+                : CompletableFuture.completedFuture(null);
+        final List<CompletableFuture<BufferedImage>> answerImages = new ArrayList<>(answers.size());
+        for (int i = 0; i < answers.size(); i++) {
+            AnswerOption answer = answers.get(answerOrder != null ? answerOrder[i] : i);
+            answerImages.add(answer.getImage() != null
+                    ? orNoImage(cache.prefetch(answer.getImage(), ScaledImageCache.ANSWER_IMAGE_WIDTH, ScaledImageCache.ANSWER_IMAGE_HEIGHT),
+                            answer.getImage())
+                    : CompletableFuture.completedFuture(null));
+        }
+
+        List<CompletableFuture<BufferedImage>> all = new ArrayList<>(answerImages);
+        all.add(questionImage);
+        return CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<ImageIcon> answerIcons = new ArrayList<>(answerImages.size());
+            for (CompletableFuture<BufferedImage> image : answerImages) {
+                answerIcons.add(toIcon(image.join()));
+            }
+            return new PreparedQuestion(question, answerOrder, correctIndex, toIcon(questionImage.join()), answerIcons);
+        });
+    }
+
+    /**
+     * A failed image (e.g. a JPEG ImageIO cannot handle) only loses its picture; the question is still shown.
+     */
+    private static CompletableFuture<BufferedImage> orNoImage(CompletableFuture<BufferedImage> image, final ImageHandle handle) {
+        return image.exceptionally(e -> {
+            Log.warn("Bild konnte nicht vorbereitet werden: {}", handle.getPath(), e);
+            return null;
+        });
+    }
+
+    private static ImageIcon toIcon(BufferedImage image) {
+        return image != null ? new ImageIcon(image) : null;
+    }
+
+    public Question getQuestion() { return question; }
+    public int getAnswerCount() { return answerOptions.size(); }
+    /** @return the answer shown at the given place. */
+    public AnswerOption getAnswerOption(int place) { return answerOptions.get(answerOrder != null ? answerOrder[place] : place); }
+    /** @return the place of the (first) correct answer, or -1. */
+    public int getCorrectIndex() { return correctIndex; }
+    /** @return the order passed to {@link #prepare}, so its array can be reused once the question is gone. */
+    public int[] getAnswerOrder() { return answerOrder; }
+    public ImageIcon getQuestionIcon() { return questionIcon; }
+    public ImageIcon getAnswerIcon(int place) { return answerIcons.get(place); }
+}
@@ -0,0 +1,92 @@
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps the next few questions of a {@link QuizGame} prepared in the background.
+ * <p>
+ * While question N is on screen (and during the feedback delay after answering it),
+ * questions N+1 ... N+depth are shuffled, decoded and scaled, so moving on to the
+ * next question only has to swap in the finished {@link PreparedQuestion}.
+ * The arrays holding the answer orders are taken back from played questions and
+ * reused, so a game allocates only as many as the window holds at once.
+ * </p>
+ */
+public class QuestionPrefetcher {
+    /** Default look-ahead, overridable with -Dgeoquiz.prefetchDepth=... */
+    public static final int DEFAULT_DEPTH = Integer.getInteger("geoquiz.prefetchDepth", 2);
+
+    private final QuizGame quizGame;
+    private final ScaledImageCache imageCache;
+    private final Map<Integer, CompletableFuture<PreparedQuestion>> window = new HashMap<>();
+    private final Deque<int[]> freeAnswerOrders = new ArrayDeque<>();
+    private int depth;
+
+    public QuestionPrefetcher(QuizGame quizGame, ScaledImageCache imageCache, int depth) {
+        this.quizGame = quizGame;
+        this.imageCache = imageCache;
+        this.depth = Math.max(0, depth);
+    }
+
+    /**
+     * Returns the current question, waiting only if its preparation has not finished yet,
+     * and schedules the questions after it.
+     *
+     * @return The prepared current question, or null if the quiz is finished.
+     */
+    public PreparedQuestion takeCurrent() {
+        CompletableFuture<PreparedQuestion> current = schedule(0);
+        fill();
+        return current != null ? current.join() : null;
+    }
+
+    /**
+     * Drops questions that have already been played and schedules the look-ahead window.
+     */
+    public synchronized void fill() {
+        int currentIndex = quizGame.getCurrentQuestionIndex();
+        Iterator<Map.Entry<Integer, CompletableFuture<PreparedQuestion>>> it = window.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, CompletableFuture<PreparedQuestion>> entry = it.next();
+            if (entry.getKey() < currentIndex) {
+                it.remove();
+                // Played questions are no longer shown; one still being prepared keeps its array
+                CompletableFuture<PreparedQuestion> played = entry.getValue();
+                if (played.isDone() && !played.isCompletedExceptionally() && played.join().getAnswerOrder() != null) {
+                    freeAnswerOrders.push(played.join().getAnswerOrder());
+                }
+            }
+        }
+        for (int offset = 1; offset <= depth; offset++) {
+            if (schedule(offset) == null) {
+                break;
+            }
+        }
+    }
+
+    public synchronized void setDepth(int depth) {
+        this.depth = Math.max(0, depth);
+    }
+
+    public synchronized int getDepth() {
+        return depth;
+    }
+
+    private synchronized CompletableFuture<PreparedQuestion> schedule(int offset) {
+        int index = quizGame.getCurrentQuestionIndex() + offset;
+        CompletableFuture<PreparedQuestion> future = window.get(index);
+        if (future == null) {
+            Question question = quizGame.peekQuestion(offset);
+            if (question == null) {
+                return null;
+            }
+            int[] answerOrder = quizGame.answerOrder(index, question.getAnswerOptions().size(), freeAnswerOrders.poll());
+            future = PreparedQuestion.prepare(question, answerOrder, imageCache);
+            window.put(index, future);
+        }
+        return future;
+    }
+}
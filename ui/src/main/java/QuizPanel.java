@@ -0,0 +1,524 @@
+import javax.swing.*;
+import javax.swing.border.Border;
+import java.awt.*;
+import java.awt.event.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ein Panel, das eine Quiz-Frage und deren Antwortoptionen anzeigt.
+ * <p>
+ * Die Antwortoptionen werden für jede Frage zufällig angeordnet. Nach der Auswahl
+ * einer Antwort wird visuelles Feedback gegeben, und nach einer kurzen Verzögerung
+ * wird die nächste Frage geladen. Zusätzlich wird am unteren Rand ein Manual-Label
+ * angezeigt, welches über die Tastatursteuerung informiert.
+ * <br>
+ * Neu: Mit den Pfeiltasten oder den Tasten W, A, S, D kann durch die Antwortoptionen navigiert
+ * werden; der aktuell ausgewählte Button wird hervorgehoben und mit ENTER kann die Auswahl bestätigt werden.
+ * <br>
+ * Das Panel wird für alle Spiele wiederverwendet: {@link #startGame(QuizGame)} setzt es mit einem
+ * neuen Spiel zurück, ohne Komponenten, Listener oder Key Bindings neu anzulegen.
+ * </p>
+ */
+public class QuizPanel extends JPanel {
+    // Gemeinsame Schriften und Rahmen, statt sie für jede Frage neu zu erzeugen. Beide Rahmen sind gleich breit,
+    // damit ein Wechsel der Markierung nur neu zeichnet und kein neues Layout der Antworten auslöst.
+    private static final Font ANSWER_FONT = new Font("Arial", Font.PLAIN, 18);
+    private static final Border SELECTED_BORDER = BorderFactory.createLineBorder(Color.YELLOW, 3);
+    private static final Border DEFAULT_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(AppColors.BORDER), BorderFactory.createEmptyBorder(2, 2, 2, 2));
+
+    // Phasen beim Anzeigen einer Frage und beim Auswerten einer Antwort (siehe UiMetrics)
+    private static final LatencyHistogram QUESTION_WAIT = Metrics.histogram("question-wait");
+    private static final LatencyHistogram QUESTION_UPDATE = Metrics.histogram("question-update");
+    private static final LatencyHistogram QUESTION_FRAME = Metrics.histogram("question-frame");
+    private static final LatencyHistogram ANSWER_FEEDBACK = Metrics.histogram("answer-feedback");
+    private static final LatencyHistogram ANSWER_FRAME = Metrics.histogram("answer-frame");
+
+    private QuizGame quizGame;
+    // Bereitet die nächsten Fragen im Hintergrund vor, während die aktuelle angezeigt wird
+    private QuestionPrefetcher prefetcher;
+    private JLabel scoreLabel;
+    private JLabel questionLabel;
+    private JLabel questionImageLabel;
+    private JPanel answersPanel;
+    private int correctCount;
+    // Fester Vorrat an Antwortbuttons, die für jede Frage nur neu beschriftet werden; nur die ersten answerCount sind sichtbar
+    private List<JButton> answerButtons;
+    private int answerCount;
+    // Angezeigte Frage samt Reihenfolge ihrer Antworten und Platz der richtigen; null auf dem Endbildschirm
+    private PreparedQuestion currentQuestion;
+    private QuizFinishedListener finishedListener;
+
+    // Permanentes Manual-Label, das Informationen zur Tastatursteuerung anzeigt
+    private JLabel manualLabel;
+
+    // Endbildschirm, der einmalig angelegt und nur ein-/ausgeblendet wird
+    private JLabel finishLabel;
+    private JButton returnButton;
+
+    // Verzögerung bis zur nächsten Frage; solange sie läuft, werden keine Antworten angenommen
+    private Timer feedbackTimer;
+
+    // Index der aktuell markierten Antwort (für die Tastatur-Navigation)
+    private int currentSelectionIndex = -1;
+
+    // Zeit vom Navigations-Tastendruck, bis die neue Markierung gezeichnet ist
+    private final LatencyHistogram navigationFrameTime = Metrics.histogram("quiz-navigation-frame");
+    // Beginn der ersten noch nicht gezeichneten Navigation, oder 0
+    private long navigationStartNanos;
+    // Läuft nach dem Zeichnen der geänderten Buttons, weil der RepaintManager seine Arbeit vorher einreiht
+    private final Runnable navigationPainted = new Runnable() {
+        public void run() {
+            navigationFrameTime.recordSince(navigationStartNanos);
+            navigationStartNanos = 0L;
+        }
+    };
+
+    /**
+     * Konstruktor für das QuizPanel.
+     *
+     * @param quizGame         Der Spielmanager, der die Quiz-Fragen enthält.
+     * @param finishedListener Callback, der aufgerufen wird, wenn das Quiz beendet ist.
+     */
+    public QuizPanel(QuizGame quizGame, QuizFinishedListener finishedListener) {
+        this(finishedListener);
+        startGame(quizGame);
+    }
+
+    /**
+     * Konstruktor für ein QuizPanel, das erst mit {@link #startGame(QuizGame)} ein Spiel erhält.
+     *
+     * @param finishedListener Callback, der aufgerufen wird, wenn das Quiz beendet ist.
+     */
+    public QuizPanel(QuizFinishedListener finishedListener) {
+        this.finishedListener = finishedListener;
+        answerButtons = new ArrayList<>();
+
+        setLayout(new GridBagLayout());
+        setBackground(AppColors.BACKGROUND);
+
+        // Initialisiere UI-Komponenten (inklusive Manual-Label)
+        initializeComponents();
+        // Richte Key Bindings für die Navigation in den Antwortoptionen ein
+        setupAnswerKeyBindings();
+        // Stelle sicher, dass dieses Panel den Tastaturfokus erhält
+        setFocusable(true);
+        requestFocusInWindow();
+    }
+
+    /**
+     * Startet ein neues Spiel in diesem Panel. Punktestand, Anzeige und ein eventuell noch
+     * laufender Feedback-Timer des vorherigen Spiels werden zurückgesetzt.
+     *
+     * @param quizGame Der Spielmanager, der die Quiz-Fragen enthält.
+     */
+    public void startGame(QuizGame quizGame) {
+        if (feedbackTimer != null) {
+            feedbackTimer.stop();
+            feedbackTimer = null;
+        }
+        if (this.quizGame != null && this.quizGame != quizGame) {
+            this.quizGame.close();
+        }
+        this.quizGame = quizGame;
+        this.prefetcher = new QuestionPrefetcher(quizGame, ScaledImageCache.getInstance(),
+                prefetcher != null ? prefetcher.getDepth() : QuestionPrefetcher.DEFAULT_DEPTH);
+        correctCount = 0;
+        scoreLabel.setText("Score: 0");
+        setQuestionViewVisible(true);
+        requestFocusInWindow();
+
+        displayCurrentQuestion();
+    }
+
+    /**
+     * Initialisiert die UI-Komponenten mithilfe von GridBagLayout.
+     */
+    private void initializeComponents() {
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+
+        // Score-Label oben, über zwei Spalten
+        scoreLabel = new JLabel("Score: 0", SwingConstants.CENTER);
+        scoreLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        scoreLabel.setForeground(AppColors.COPY);
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        add(scoreLabel, gbc);
+
+        // Frage-Label
+        questionLabel = new JLabel("", SwingConstants.CENTER);
+        questionLabel.setFont(new Font("Arial", Font.BOLD, 22));
+        questionLabel.setForeground(AppColors.COPY);
+        gbc.gridy = 1;
+        add(questionLabel, gbc);
+
+        // Fragebild-Label
+        questionImageLabel = new JLabel("", SwingConstants.CENTER);
+        gbc.gridy = 2;
+        add(questionImageLabel, gbc);
+
+        // Antworten-Panel
+        answersPanel = new JPanel(new GridBagLayout());
+        answersPanel.setBackground(AppColors.BACKGROUND);
+        gbc.gridy = 3;
+        add(answersPanel, gbc);
+
+        // Permanentes Manual-Label am unteren Rand (Zeile 4)
+        manualLabel = new JLabel("<html>Verfügbare Tasten:<br>" +
+                "- Pfeiltasten: Navigation in den Antwortoptionen<br>" +
+                "- ENTER: Auswahl bestätigen</html>", SwingConstants.CENTER);
+        manualLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        manualLabel.setForeground(AppColors.COPY);
+        gbc.gridy = 4;
+        gbc.gridwidth = 2;
+        gbc.ipadx = 2;
+        add(manualLabel, gbc);
+
+        // Endbildschirm: End-Punktzahl und ein Button zur Rückkehr ins Hauptmenü (zunächst ausgeblendet)
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.ipadx = 0;
+        finishLabel = new JLabel("", SwingConstants.CENTER);
+        finishLabel.setFont(new Font("Arial", Font.BOLD, 24));
+        finishLabel.setForeground(AppColors.COPY);
+        gbc.gridy = 5;
+        add(finishLabel, gbc);
+
+        returnButton = new JButton("Zum Hauptmenü");
+        returnButton.setFont(new Font("Arial", Font.BOLD, 20));
+        returnButton.setBackground(AppColors.SECONDARY);
+        returnButton.setForeground(AppColors.SECONDARY_CONTENT);
+        returnButton.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                finishedListener.quizFinished();
+            }
+        });
+        gbc.gridy = 6;
+        add(returnButton, gbc);
+        finishLabel.setVisible(false);
+        returnButton.setVisible(false);
+    }
+
+    /**
+     * Blendet die Fragen-Ansicht ein und den Endbildschirm aus (oder umgekehrt).
+     *
+     * @param visible true für die Fragen-Ansicht, false für den Endbildschirm.
+     */
+    private void setQuestionViewVisible(boolean visible) {
+        scoreLabel.setVisible(visible);
+        questionLabel.setVisible(visible);
+        questionImageLabel.setVisible(visible);
+        answersPanel.setVisible(visible);
+        manualLabel.setVisible(visible);
+        finishLabel.setVisible(!visible);
+        returnButton.setVisible(!visible);
+    }
+
+    /**
+     * Richtet Key Bindings ein, um in den Antwortoptionen zu navigieren und
+     * die Auswahl mit ENTER zu bestätigen.
+     */
+    private void setupAnswerKeyBindings() {
+        InputMap im = getInputMap(WHEN_IN_FOCUSED_WINDOW);
+        ActionMap am = getActionMap();
+
+        // Linke Richtung / A
+        im.put(KeyStroke.getKeyStroke("LEFT"), "moveLeft");
+        im.put(KeyStroke.getKeyStroke('A'), "moveLeft");
+        am.put("moveLeft", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (answerCount == 0) return;
+                int col = currentSelectionIndex % 2;
+                if (col > 0) { // in der gleichen Zeile nach links
+                    moveSelection(currentSelectionIndex - 1);
+                }
+            }
+        });
+
+        // Rechte Richtung / D
+        im.put(KeyStroke.getKeyStroke("RIGHT"), "moveRight");
+        im.put(KeyStroke.getKeyStroke('D'), "moveRight");
+        am.put("moveRight", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (answerCount == 0) return;
+                int col = currentSelectionIndex % 2;
+                if (col == 0 && currentSelectionIndex + 1 < answerCount) {
+                    moveSelection(currentSelectionIndex + 1);
+                }
+            }
+        });
+
+        // Oben / W
+        im.put(KeyStroke.getKeyStroke("UP"), "moveUp");
+        im.put(KeyStroke.getKeyStroke('W'), "moveUp");
+        am.put("moveUp", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (answerCount == 0) return;
+                if (currentSelectionIndex - 2 >= 0) {
+                    moveSelection(currentSelectionIndex - 2);
+                }
+            }
+        });
+
+        // Unten / S
+        im.put(KeyStroke.getKeyStroke("DOWN"), "moveDown");
+        im.put(KeyStroke.getKeyStroke('S'), "moveDown");
+        am.put("moveDown", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (answerCount == 0) return;
+                if (currentSelectionIndex + 2 < answerCount) {
+                    moveSelection(currentSelectionIndex + 2);
+                }
+            }
+        });
+
+        // ENTER: Auswahl bestätigen
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "confirmSelection");
+        am.put("confirmSelection", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (answerCount > 0 && currentSelectionIndex >= 0) {
+                    Log.debug("ENTER gedrückt. Auswahl bestätigen: Index {}", currentSelectionIndex);
+                    selectAnswer(currentSelectionIndex);
+                }
+            }
+        });
+    }
+
+    /**
+     * Verschiebt die Markierung auf einen anderen Antwortbutton. Nur der bisher und der neu markierte Button
+     * bekommen einen anderen Rahmen und werden neu gezeichnet.
+     *
+     * @param newIndex Index des neu zu markierenden Buttons.
+     */
+    private void moveSelection(int newIndex) {
+        long start = System.nanoTime();
+        int previousIndex = currentSelectionIndex;
+        currentSelectionIndex = newIndex;
+        if (previousIndex >= 0 && previousIndex < answerCount && previousIndex != newIndex) {
+            answerButtons.get(previousIndex).setBorder(DEFAULT_BORDER);
+        }
+        answerButtons.get(newIndex).setBorder(SELECTED_BORDER);
+        // Mehrere Schritte vor dem nächsten Zeichnen zählen als ein Frame, gemessen ab dem ersten
+        if (navigationStartNanos == 0L) {
+            navigationStartNanos = start;
+            SwingUtilities.invokeLater(navigationPainted);
+        }
+    }
+
+    /**
+     * @return Platz der markierten Antwort, oder -1 ohne Frage (paketsichtbar für die Prüfungen im Bench-Modul)
+     */
+    int getSelectedIndex() {
+        return currentSelectionIndex;
+    }
+
+    /**
+     * @return Zeit vom Navigations-Tastendruck bis zum Zeichnen der neuen Markierung (auf dem EDT gemessen)
+     */
+    public LatencyHistogram getNavigationFrameTime() {
+        return navigationFrameTime;
+    }
+
+    /**
+     * Zeigt die aktuelle Frage an. Bild und gemischte Antwortoptionen wurden bereits vom
+     * {@link QuestionPrefetcher} im Hintergrund vorbereitet, hier werden sie nur noch übernommen.
+     */
+    public void displayCurrentQuestion() {
+        long start = System.nanoTime();
+        // Wartet nur, falls die Vorbereitung dieser Frage noch nicht fertig ist
+        PreparedQuestion prepared = prefetcher.takeCurrent();
+        long prepareDone = System.nanoTime();
+        QUESTION_WAIT.record(prepareDone - start);
+        if (prepared == null) {
+            // Keine weiteren Fragen: Zeige End-Punktzahl und einen Button zur Rückkehr ins Hauptmenü
+            finishLabel.setText("Quiz beendet! Endpunktzahl: " + correctCount);
+            setQuestionViewVisible(false);
+            // Bilder der letzten Frage nicht länger festhalten; die Buttons selbst bleiben für das nächste Spiel
+            for (JButton btn : answerButtons) {
+                btn.setIcon(null);
+            }
+            answerCount = 0;
+            currentQuestion = null;
+            quizGame.close();
+            return;
+        }
+
+        Question question = prepared.getQuestion();
+
+        // Setze Fragetext
+        questionLabel.setText(question.getQuestionText() != null ? question.getQuestionText() : "");
+
+        // Vorskaliertes Bild (Seitenverhältnis bleibt erhalten); skaliert wurde im Hintergrund
+        questionImageLabel.setIcon(prepared.getQuestionIcon());
+
+        // Die Reihenfolge der Antworten hat das Spiel schon beim Vorbereiten festgelegt
+        currentQuestion = prepared;
+
+        // Vorhandene Buttons neu beschriften statt sie neu anzulegen. Nur Buttons, deren Text oder Bild sich in der
+        // Größe ändert, lösen selbst ein neues Layout aus; überzählige werden ausgeblendet.
+        answerCount = prepared.getAnswerCount();
+        ensureAnswerButtons(answerCount);
+        for (int i = 0; i < answerButtons.size(); i++) {
+            JButton btn = answerButtons.get(i);
+            if (i >= answerCount) {
+                btn.setVisible(false);
+                btn.setIcon(null);
+                continue;
+            }
+            AnswerOption answer = prepared.getAnswerOption(i);
+            btn.setText(answer.getText());
+            btn.setIcon(prepared.getAnswerIcon(i));
+            btn.setBackground(AppColors.PRIMARY_LIGHT);
+            btn.setForeground(AppColors.PRIMARY_CONTENT);
+            btn.setEnabled(true);
+            btn.setVisible(true);
+            // Markierung auf die erste Antwort zurücksetzen; ein unveränderter Rahmen zeichnet nichts neu
+            btn.setBorder(i == 0 ? SELECTED_BORDER : DEFAULT_BORDER);
+        }
+        currentSelectionIndex = answerCount > 0 ? 0 : -1;
+
+        // Warten (Bild noch nicht vorskaliert), Übernehmen in die Buttons, und bis zum gezeichneten Frame (Layout + Zeichnen)
+        QUESTION_UPDATE.recordSince(prepareDone);
+        UiMetrics.recordAfterPaint(QUESTION_FRAME, start);
+    }
+
+    /**
+     * Legt Antwortbuttons an, bis mindestens {@code count} vorhanden sind. Jeder Button behält seinen Platz im
+     * Raster und seinen Listener für alle folgenden Fragen.
+     *
+     * @param count Anzahl der benötigten Buttons.
+     */
+    private void ensureAnswerButtons(int count) {
+        GridBagConstraints gbcAns = new GridBagConstraints();
+        gbcAns.insets = new Insets(5, 5, 5, 5);
+        gbcAns.fill = GridBagConstraints.BOTH;
+        while (answerButtons.size() < count) {
+            final int index = answerButtons.size();
+            JButton btn = new JButton();
+            btn.setFont(ANSWER_FONT);
+            btn.addActionListener(new ActionListener() {
+                public void actionPerformed(ActionEvent e) {
+                    Log.debug("Button geklickt: Index {}", index);
+                    if (Log.isDebugEnabled() && quizGame.getCurrentQuestion() != null) {
+                        Log.debug("Aktuelle Frage: {}", quizGame.getCurrentQuestion().getQuestionText());
+                    }
+                    handleAnswerSelection(index);
+                }
+            });
+            answerButtons.add(btn);
+            gbcAns.gridx = index % 2;
+            gbcAns.gridy = index / 2;
+            answersPanel.add(btn, gbcAns);
+        }
+    }
+
+    /**
+     * Behandelt die Auswahl einer Antwort: Deaktiviert Buttons, gibt visuelles Feedback
+     * und lädt nach einer Verzögerung die nächste Frage.
+     *
+     * @param selectedIndex Index der ausgewählten Antwort.
+     */
+    private void handleAnswerSelection(int selectedIndex) {
+        // Während des Feedbacks (oder auf dem Endbildschirm) werden keine weiteren Antworten angenommen
+        if (feedbackTimer != null || currentQuestion == null || selectedIndex >= answerCount) {
+            return;
+        }
+        long start = System.nanoTime();
+        AnswerOption selectedAnswer = currentQuestion.getAnswerOption(selectedIndex);
+        Log.debug("Antwort ausgewählt: Index {}, Text: {}", selectedIndex,
+                selectedAnswer.getText() != null ? selectedAnswer.getText() : "kein Text");
+
+        // Deaktiviere alle Antwortbuttons
+        for (int i = 0; i < answerCount; i++) {
+            answerButtons.get(i).setEnabled(false);
+        }
+        int correctIndex = currentQuestion.getCorrectIndex();
+        // Farbfeedback: korrekt = grün, falsch = rot
+        if (selectedAnswer.isCorrect()) {
+            answerButtons.get(selectedIndex).setBackground(AppColors.SUCCESS);
+            answerButtons.get(selectedIndex).setForeground(AppColors.SUCCESS_CONTENT);
+            for (int i = 0; i < answerCount; i++) {
+                if (i != selectedIndex) {
+                    answerButtons.get(i).setBackground(AppColors.ERROR);
+                    answerButtons.get(i).setForeground(AppColors.ERROR_CONTENT);
+                }
+            }
+            correctCount++;
+            scoreLabel.setText("Score: " + correctCount);
+        } else {
+            answerButtons.get(selectedIndex).setBackground(AppColors.ERROR);
+            answerButtons.get(selectedIndex).setForeground(AppColors.ERROR_CONTENT);
+            if (correctIndex != -1) {
+                answerButtons.get(correctIndex).setBackground(AppColors.SUCCESS);
+                answerButtons.get(correctIndex).setForeground(AppColors.SUCCESS_CONTENT);
+            }
+            for (int i = 0; i < answerCount; i++) {
+                if (i != selectedIndex && i != correctIndex) {
+                    answerButtons.get(i).setBackground(AppColors.ERROR);
+                    answerButtons.get(i).setForeground(AppColors.ERROR_CONTENT);
+                }
+            }
+        }
+        // Nach einer Verzögerung zur nächsten Frage wechseln
+        feedbackTimer = new Timer(1500, new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                showNextQuestion();
+            }
+        });
+        feedbackTimer.setRepeats(false);
+        feedbackTimer.start();
+        ANSWER_FEEDBACK.recordSince(start);
+        UiMetrics.recordAfterPaint(ANSWER_FRAME, start);
+    }
+
+    /**
+     * Beendet das Feedback und wechselt zur nächsten Frage.
+     */
+    private void showNextQuestion() {
+        feedbackTimer = null;
+        quizGame.nextQuestion();
+        displayCurrentQuestion();
+    }
+
+    /**
+     * Beendet ein laufendes Antwort-Feedback sofort, ohne die 1500 ms abzuwarten, und zeigt die nächste Frage.
+     * Paketsichtbar für den Soak-Test im Bench-Modul, der ohne Bildschirm viele Spiele hintereinander spielt.
+     *
+     * @return false, wenn gerade kein Feedback lief (z. B. auf dem Endbildschirm).
+     */
+    boolean finishFeedback() {
+        if (feedbackTimer == null) {
+            return false;
+        }
+        feedbackTimer.stop();
+        showNextQuestion();
+        return true;
+    }
+
+    /**
+     * Legt fest, wie viele Fragen im Voraus vorbereitet werden.
+     *
+     * @param depth Anzahl der vorzubereitenden Fragen (0 schaltet das Vorladen ab).
+     */
+    public void setPrefetchDepth(int depth) {
+        prefetcher.setDepth(depth);
+        prefetcher.fill();
+    }
+
+    /**
+     * Ermöglicht externen Komponenten (z. B. über Key Bindings) die Auswahl einer Antwort.
+     *
+     * @param index Index der auszuwählenden Antwort aus der zufälligen Anordnung.
+     */
+    public void selectAnswer(int index) {
+        handleAnswerSelection(index);
+    }
+}
@@ -0,0 +1,59 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Milestones of the application start, from launching the JVM to the first painted frame and the end of
+ * the initialization that is deferred until then.
+ * <p>
+ * Taking a milestone costs one {@link System#nanoTime()}. Once startup has {@link #finish() finished}, the
+ * milestones are logged as times since JVM launch if -Dgeoquiz.startup.report=true, and the time to first
+ * frame goes into the "startup-first-frame" histogram if {@link UiMetrics} are enabled. Only then is the
+ * JVM asked for its start time, so a normal start loads no management classes.
+ * </p>
+ */
+final class StartupProfile {
+    static final String FIRST_FRAME = "first-frame";
+
+    private static final boolean REPORT = Boolean.getBoolean("geoquiz.startup.report");
+
+    private static final List<String> names = new ArrayList<>();
+    private static final List<Long> nanos = new ArrayList<>();
+
+    private StartupProfile() {
+    }
+
+    /**
+     * Records that startup has reached the named milestone now; only the first call per name counts.
+     */
+    static synchronized void mark(String milestone) {
+        if (!names.contains(milestone)) {
+            names.add(milestone);
+            nanos.add(System.nanoTime());
+        }
+    }
+
+    /**
+     * Reports the milestones, if enabled. Call once after the deferred initialization.
+     */
+    static synchronized void finish() {
+        if (!REPORT && !UiMetrics.isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long launchNanos = now - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+        int firstFrame = names.indexOf(FIRST_FRAME);
+        if (firstFrame >= 0) {
+            Metrics.histogram("startup-first-frame").record(nanos.get(firstFrame) - launchNanos);
+        }
+        if (REPORT) {
+            StringBuilder report = new StringBuilder();
+            for (int i = 0; i < names.size(); i++) {
+                report.append(i == 0 ? "" : ", ").append(names.get(i)).append(' ')
+                        .append(TimeUnit.NANOSECONDS.toMillis(nanos.get(i) - launchNanos)).append(" ms");
+            }
+            Log.info("Start seit JVM-Start: {}", report);
+        }
+    }
+}
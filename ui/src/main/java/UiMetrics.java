@@ -0,0 +1,152 @@
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import javax.swing.*;
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InputEvent;
+import java.awt.event.InvocationEvent;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * The opt-in layer that measures the UI and reports the {@link Metrics} histograms.
+ * <p>
+ * Recording into the histograms is always on. Only when the game is started with {@code -Dgeoquiz.metrics=true}
+ * does {@link #installIfEnabled()} add the parts that cost something:
+ * </p>
+ * <ul>
+ * <li>an {@link EventQueue} that times every event dispatched on the EDT ({@code edt-dispatch-*}) and prints
+ * events slower than {@code -Dgeoquiz.metrics.slowMillis} (default 50),</li>
+ * <li>GC pause times from the JVM's collection notifications ({@code gc-pause}), to tell collector pauses
+ * apart from slow code,</li>
+ * <li>a dump of all histograms to {@code -Dgeoquiz.metrics.file} (default {@value #DEFAULT_FILE}) every minute
+ * and at exit,</li>
+ * <li>the MXBeans of {@link Metrics#registerMBeans()}, e.g. for JConsole.</li>
+ * </ul>
+ */
+public class UiMetrics {
+    /** Default dump file in the working directory. */
+    public static final String DEFAULT_FILE = "geoquiz-metrics.txt";
+
+    private static final long DUMP_INTERVAL_MILLIS = 60_000L;
+
+    private static boolean installed;
+
+    private UiMetrics() {
+    }
+
+    /**
+     * @return true if the game was started with {@code -Dgeoquiz.metrics=true}.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("geoquiz.metrics");
+    }
+
+    /**
+     * Records, once the EDT has painted the changes made so far, the time since {@code startNanos}.
+     * Must be called on the EDT; the RepaintManager queues its layout and paint work ahead of this.
+     */
+    public static void recordAfterPaint(final LatencyHistogram histogram, final long startNanos) {
+        SwingUtilities.invokeLater(new Runnable() {
+            public void run() {
+                histogram.recordSince(startNanos);
+            }
+        });
+    }
+
+    /**
+     * Installs the event queue, GC listener, periodic dump and MXBeans if metrics are enabled; does
+     * nothing otherwise. Call once at startup.
+     */
+    public static synchronized void installIfEnabled() {
+        if (installed || !isEnabled()) {
+            return;
+        }
+        installed = true;
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(
+                new TimingEventQueue(Long.getLong("geoquiz.metrics.slowMillis", 50L) * 1_000_000L));
+        listenForGcPauses();
+        Metrics.registerMBeans();
+
+        final File file = new File(System.getProperty("geoquiz.metrics.file", DEFAULT_FILE));
+        Timer timer = new Timer("ui-metrics-dump", true);
+        timer.schedule(new TimerTask() {
+            public void run() {
+                dumpQuietly(file);
+            }
+        }, DUMP_INTERVAL_MILLIS, DUMP_INTERVAL_MILLIS);
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            public void run() {
+                dumpQuietly(file);
+            }
+        }, "ui-metrics-shutdown"));
+        Log.info("UI-Metriken aktiv, Ausgabe nach {}", file.getAbsolutePath());
+    }
+
+    private static void dumpQuietly(File file) {
+        try {
+            Metrics.dump(file);
+        } catch (IOException e) {
+            Log.warn("UI-Metriken konnten nicht geschrieben werden: {}", file, e);
+        }
+    }
+
+    private static void listenForGcPauses() {
+        final LatencyHistogram gcPause = Metrics.histogram("gc-pause");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(collector instanceof NotificationEmitter)) {
+                continue;
+            }
+            ((NotificationEmitter) collector).addNotificationListener((Notification notification, Object handback) -> {
+                if (!"com.sun.management.gc.notification".equals(notification.getType())) {
+                    return;
+                }
+                // GarbageCollectionNotificationInfo is HotSpot-specific, so read the open data directly
+                CompositeData info = (CompositeData) notification.getUserData();
+                CompositeData gcInfo = (CompositeData) info.get("gcInfo");
+                gcPause.record(((Long) gcInfo.get("duration")) * 1_000_000L);
+            }, null, null);
+        }
+    }
+
+    /**
+     * Times every event dispatched on the EDT, split by the kind of event.
+     */
+    private static final class TimingEventQueue extends EventQueue {
+        private final LatencyHistogram input = Metrics.histogram("edt-dispatch-input");
+        private final LatencyHistogram invocation = Metrics.histogram("edt-dispatch-invocation");
+        private final LatencyHistogram other = Metrics.histogram("edt-dispatch-other");
+        private final long slowNanos;
+
+        TimingEventQueue(long slowNanos) {
+            this.slowNanos = slowNanos;
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            long start = System.nanoTime();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                // Invocation events carry invokeLater, timers and the RepaintManager's layout and painting
+                if (event instanceof InputEvent) {
+                    input.record(nanos);
+                } else if (event instanceof InvocationEvent) {
+                    invocation.record(nanos);
+                } else {
+                    other.record(nanos);
+                }
+                if (nanos > slowNanos) {
+                    Log.warn("Langsames EDT-Event ({} µs): {}", nanos / 1000, event);
+                }
+            }
+        }
+    }
+}